@@ -0,0 +1,64 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures avro to json conversion of each {@link BenchmarkPayload}, from records and from binary avro, by one thread
+ * and by threads sharing one converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AvroToJsonBenchmark {
+
+    @Param
+    public BenchmarkPayload payload;
+
+    private AvroJsonConverter converter;
+    private Schema schema;
+    private GenericData.Record record;
+    private byte[] avro;
+
+    @Setup
+    public void setup() {
+        JsonAvroConverter jsonAvroConverter = new JsonAvroConverter();
+        converter = new AvroJsonConverter();
+        schema = payload.schema();
+        record = jsonAvroConverter.convertToGenericDataRecord(payload.json(), schema);
+        avro = jsonAvroConverter.convertToAvro(payload.json(), schema);
+    }
+
+    @Benchmark
+    public byte[] convertRecordToJson() {
+        return converter.convertToJson(record);
+    }
+
+    @Benchmark
+    public byte[] convertAvroToJson() {
+        return converter.convertToJson(avro, schema);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] convertRecordToJsonConcurrently() {
+        return converter.convertToJson(record);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] convertAvroToJsonConcurrently() {
+        return converter.convertToJson(avro, schema);
+    }
+}
@@ -0,0 +1,231 @@
+package tech.allegro.schema.json2avro.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Schema;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Schemas shaped like the ones converted in production, each with a json document matching it.
+ */
+public enum BenchmarkPayload {
+
+    /**
+     * 200 fields of primitive types, a third of them optional with only every other one present in the document.
+     */
+    WIDE_FLAT {
+        @Override
+        String schemaJson() {
+            StringJoiner fields = new StringJoiner(",");
+            for (int i = 0; i < 200; i++) {
+                fields.add(field("field_" + i, WIDE_TYPES[i % WIDE_TYPES.length]));
+            }
+            return record("WideFlat", fields.toString());
+        }
+
+        @Override
+        Map<String, Object> document() {
+            Map<String, Object> document = new LinkedHashMap<>();
+            for (int i = 0; i < 200; i++) {
+                switch (i % WIDE_TYPES.length) {
+                    case 0:
+                        document.put("field_" + i, "value " + i);
+                        break;
+                    case 1:
+                        document.put("field_" + i, i);
+                        break;
+                    case 2:
+                        document.put("field_" + i, 1_600_000_000_000L + i);
+                        break;
+                    case 3:
+                        document.put("field_" + i, i / 7.0);
+                        break;
+                    case 4:
+                        document.put("field_" + i, i % 2 == 0);
+                        break;
+                    default:
+                        if (i % 2 == 0) {
+                            document.put("field_" + i, "optional " + i);
+                        }
+                }
+            }
+            return document;
+        }
+    },
+
+    /**
+     * Records nested 12 levels deep, each level with a few fields of its own.
+     */
+    DEEP_NESTED {
+        @Override
+        String schemaJson() {
+            String nested = "\"null\"";
+            for (int level = DEPTH; level > 0; level--) {
+                nested = "{\"type\":\"record\",\"name\":\"Level" + level + "\",\"fields\":["
+                        + field("name", "\"string\"") + ","
+                        + field("weight", "\"double\"") + ","
+                        + field("tags", "{\"type\":\"array\",\"items\":\"string\"}") + ","
+                        + field("child", level == DEPTH ? "\"null\"" : "[\"null\"," + nested + "]", "null")
+                        + "]}";
+            }
+            return record("DeepNested", field("root", nested));
+        }
+
+        @Override
+        Map<String, Object> document() {
+            Map<String, Object> child = null;
+            for (int level = DEPTH; level > 0; level--) {
+                Map<String, Object> node = new LinkedHashMap<>();
+                node.put("name", "level " + level);
+                node.put("weight", level * 0.5);
+                node.put("tags", List.of("a" + level, "b" + level));
+                node.put("child", child);
+                child = node;
+            }
+            return Map.of("root", child);
+        }
+    },
+
+    /**
+     * An array of 10 000 longs and a map of 1 000 small records.
+     */
+    LARGE_COLLECTIONS {
+        @Override
+        String schemaJson() {
+            return record("LargeCollections",
+                    field("ids", "{\"type\":\"array\",\"items\":\"long\"}") + ","
+                            + field("prices", "{\"type\":\"map\",\"values\":{\"type\":\"record\",\"name\":\"Price\",\"fields\":["
+                            + field("amount", "\"double\"") + "," + field("currency", "\"string\"") + "]}}"));
+        }
+
+        @Override
+        Map<String, Object> document() {
+            List<Long> ids = new ArrayList<>();
+            for (long i = 0; i < 10_000; i++) {
+                ids.add(i * 31);
+            }
+            Map<String, Object> prices = new LinkedHashMap<>();
+            for (int i = 0; i < 1_000; i++) {
+                prices.put("sku-" + i, Map.of("amount", i * 1.25, "currency", "PLN"));
+            }
+            return Map.of("ids", ids, "prices", prices);
+        }
+    },
+
+    /**
+     * A list of events, each being one of four record types told apart by their fields.
+     */
+    MULTI_RECORD_UNION {
+        @Override
+        String schemaJson() {
+            String events = "["
+                    + eventRecord("Viewed", field("page", "\"string\"")) + ","
+                    + eventRecord("Searched", field("query", "\"string\"") + "," + field("results", "\"int\"")) + ","
+                    + eventRecord("AddedToCart", field("sku", "\"string\"") + "," + field("quantity", "\"int\"")) + ","
+                    + eventRecord("Purchased", field("order", "\"string\"") + "," + field("total", "\"double\""))
+                    + "]";
+            return record("MultiRecordUnion", field("events", "{\"type\":\"array\",\"items\":" + events + "}"));
+        }
+
+        @Override
+        Map<String, Object> document() {
+            List<Object> events = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                switch (i % 4) {
+                    case 0:
+                        events.add(Map.of("timestamp", i, "page", "/offer/" + i));
+                        break;
+                    case 1:
+                        events.add(Map.of("timestamp", i, "query", "phone " + i, "results", i * 3));
+                        break;
+                    case 2:
+                        events.add(Map.of("timestamp", i, "sku", "sku-" + i, "quantity", 1));
+                        break;
+                    default:
+                        events.add(Map.of("timestamp", i, "order", "order-" + i, "total", i * 9.99));
+                }
+            }
+            return Map.of("events", events);
+        }
+
+        private String eventRecord(String name, String fields) {
+            return "{\"type\":\"record\",\"name\":\"" + name + "\",\"fields\":["
+                    + field("timestamp", "\"long\"") + "," + fields + "]}";
+        }
+    },
+
+    /**
+     * 20 decimals, 10 timestamps and 5 dates, like the rows of a financial feed.
+     */
+    DECIMALS_AND_TIMESTAMPS {
+        @Override
+        String schemaJson() {
+            StringJoiner fields = new StringJoiner(",");
+            for (int i = 0; i < 20; i++) {
+                fields.add(field("amount_" + i, "{\"type\":\"bytes\",\"logicalType\":\"decimal\",\"precision\":18,\"scale\":4}"));
+            }
+            for (int i = 0; i < 10; i++) {
+                fields.add(field("time_" + i, "{\"type\":\"long\",\"logicalType\":\"timestamp-millis\"}"));
+            }
+            for (int i = 0; i < 5; i++) {
+                fields.add(field("date_" + i, "{\"type\":\"int\",\"logicalType\":\"date\"}"));
+            }
+            return record("DecimalsAndTimestamps", fields.toString());
+        }
+
+        @Override
+        Map<String, Object> document() {
+            Map<String, Object> document = new LinkedHashMap<>();
+            for (int i = 0; i < 20; i++) {
+                document.put("amount_" + i, i % 2 == 0 ? (Object) (1234.5 + i) : "98765.4321");
+            }
+            for (int i = 0; i < 10; i++) {
+                document.put("time_" + i, "2024-03-1" + (i % 10) + "T12:34:56.789Z");
+            }
+            for (int i = 0; i < 5; i++) {
+                document.put("date_" + i, "2024-03-0" + (i + 1));
+            }
+            return document;
+        }
+    };
+
+    private static final int DEPTH = 12;
+    private static final String[] WIDE_TYPES = {
+            "\"string\"", "\"int\"", "\"long\"", "\"double\"", "\"boolean\"", "[\"null\",\"string\"]"
+    };
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    abstract String schemaJson();
+
+    abstract Map<String, Object> document();
+
+    public Schema schema() {
+        return new Schema.Parser().parse(schemaJson());
+    }
+
+    public byte[] json() {
+        try {
+            return MAPPER.writeValueAsBytes(document());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String record(String name, String fields) {
+        return "{\"type\":\"record\",\"name\":\"" + name + "\",\"namespace\":\"benchmark\",\"fields\":[" + fields + "]}";
+    }
+
+    private static String field(String name, String type) {
+        return type.startsWith("[\"null\"") ? field(name, type, "null") : "{\"name\":\"" + name + "\",\"type\":" + type + "}";
+    }
+
+    private static String field(String name, String type, String defaultValue) {
+        return "{\"name\":\"" + name + "\",\"type\":" + type + ",\"default\":" + defaultValue + "}";
+    }
+}
@@ -0,0 +1,61 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures json to avro conversion of each {@link BenchmarkPayload}, by one thread and by threads sharing one
+ * converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonToAvroBenchmark {
+
+    @Param
+    public BenchmarkPayload payload;
+
+    private JsonAvroConverter converter;
+    private Schema schema;
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        converter = new JsonAvroConverter();
+        schema = payload.schema();
+        json = payload.json();
+    }
+
+    @Benchmark
+    public byte[] convertToAvro() {
+        return converter.convertToAvro(json, schema);
+    }
+
+    @Benchmark
+    public GenericData.Record convertToGenericDataRecord() {
+        return converter.convertToGenericDataRecord(json, schema);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] convertToAvroConcurrently() {
+        return converter.convertToAvro(json, schema);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public GenericData.Record convertToGenericDataRecordConcurrently() {
+        return converter.convertToGenericDataRecord(json, schema);
+    }
+}
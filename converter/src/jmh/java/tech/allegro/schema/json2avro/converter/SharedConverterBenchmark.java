@@ -0,0 +1,106 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how throughput scales with the number of threads sharing one pair of converters. Each thread goes through
+ * every {@link BenchmarkPayload} in turn with the schema given as json text, so every conversion looks up the schema
+ * cache and the per-schema caches of both converters. The score per thread of the concurrent benchmarks should stay
+ * close to the one of the single threaded benchmark, as long as there are as many cores as threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SharedConverterBenchmark {
+
+    private static final BenchmarkPayload[] PAYLOADS = BenchmarkPayload.values();
+
+    private JsonAvroConverter jsonAvroConverter;
+    private AvroJsonConverter avroJsonConverter;
+    private String[] schemas;
+    private byte[][] jsons;
+    private byte[][] avros;
+
+    @Setup
+    public void setup() {
+        jsonAvroConverter = new JsonAvroConverter();
+        avroJsonConverter = new AvroJsonConverter();
+        schemas = new String[PAYLOADS.length];
+        jsons = new byte[PAYLOADS.length][];
+        avros = new byte[PAYLOADS.length][];
+        for (int i = 0; i < PAYLOADS.length; i++) {
+            schemas[i] = PAYLOADS[i].schemaJson();
+            jsons[i] = PAYLOADS[i].json();
+            avros[i] = jsonAvroConverter.convertToAvro(jsons[i], schemas[i]);
+        }
+    }
+
+    /**
+     * The payload converted next by one thread.
+     */
+    @State(Scope.Thread)
+    public static class Turn {
+        private int next;
+
+        int next() {
+            int current = next;
+            next = current + 1 == PAYLOADS.length ? 0 : current + 1;
+            return current;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] convertToAvroOnOneThread(Turn turn) {
+        return convertToAvro(turn);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] convertToAvroOnFourThreads(Turn turn) {
+        return convertToAvro(turn);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public byte[] convertToAvroOnSixteenThreads(Turn turn) {
+        return convertToAvro(turn);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] convertToJsonOnOneThread(Turn turn) {
+        return convertToJson(turn);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] convertToJsonOnFourThreads(Turn turn) {
+        return convertToJson(turn);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public byte[] convertToJsonOnSixteenThreads(Turn turn) {
+        return convertToJson(turn);
+    }
+
+    private byte[] convertToAvro(Turn turn) {
+        int payload = turn.next();
+        return jsonAvroConverter.convertToAvro(jsons[payload], schemas[payload]);
+    }
+
+    private byte[] convertToJson(Turn turn) {
+        int payload = turn.next();
+        return avroJsonConverter.convertToJson(avros[payload], schemas[payload]);
+    }
+}
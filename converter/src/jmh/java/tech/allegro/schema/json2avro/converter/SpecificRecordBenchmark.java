@@ -0,0 +1,60 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import tech.allegro.schema.json2avro.converter.benchmark.BenchmarkOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures json conversion to the {@link BenchmarkOrder} specific record generated from {@code benchmark_order.avsc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SpecificRecordBenchmark {
+
+    private JsonAvroConverter converter;
+    private Schema schema;
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        converter = new JsonAvroConverter();
+        schema = BenchmarkOrder.getClassSchema();
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            items.append(i == 0 ? "" : ",")
+                    .append("{\"sku\":\"sku-").append(i).append("\",\"quantity\":").append(i + 1)
+                    .append(",\"price\":\"").append(i).append(".99\"}");
+        }
+        json = ("{"
+                + "\"id\":\"order-1\","
+                + "\"createdAt\":\"2024-03-10T12:34:56.789Z\","
+                + "\"status\":\"PAID\","
+                + "\"buyer\":{\"login\":\"mike\",\"email\":\"mike@example.com\","
+                + "\"address\":{\"street\":\"Grunwaldzka 182\",\"city\":\"Poznan\",\"zipCode\":\"60-166\"}},"
+                + "\"items\":[" + items + "],"
+                + "\"attributes\":{\"channel\":\"mobile\",\"campaign\":\"spring\",\"coupon\":\"none\"}"
+                + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public BenchmarkOrder convertToSpecificRecord() {
+        return converter.convertToSpecificRecord(json, BenchmarkOrder.class, schema);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchmarkOrder convertToSpecificRecordConcurrently() {
+        return converter.convertToSpecificRecord(json, BenchmarkOrder.class, schema);
+    }
+}
@@ -0,0 +1,254 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.io.BinaryData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable buffer of Avro binary data. Produces the same bytes as {@link org.apache.avro.io.BinaryEncoder}
+ * but allows to insert item counts of arrays and maps once they are known and to reorder record fields.
+ * <p>
+ * It is also an {@link OutputStream}, so records can be written to it with a direct binary encoder.
+ */
+class AvroBinaryBuffer extends OutputStream {
+    /**
+     * discards everything written to it, for walking documents without encoding them. It stays empty, so it is
+     * shared by the threads.
+     */
+    static final AvroBinaryBuffer DISCARDING = new Discarding();
+
+    private static final int MAX_VARINT_LENGTH = 10;
+
+    private byte[] buffer;
+    private int position;
+
+    AvroBinaryBuffer() {
+        this(256);
+    }
+
+    AvroBinaryBuffer(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    int position() {
+        return position;
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    void truncate(int newPosition) {
+        position = newPosition;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        writeFixed(bytes, offset, length);
+    }
+
+    void writeBoolean(boolean value) {
+        ensureCapacity(1);
+        position += BinaryData.encodeBoolean(value, buffer, position);
+    }
+
+    void writeInt(int value) {
+        ensureCapacity(MAX_VARINT_LENGTH);
+        position += BinaryData.encodeInt(value, buffer, position);
+    }
+
+    void writeLong(long value) {
+        ensureCapacity(MAX_VARINT_LENGTH);
+        position += BinaryData.encodeLong(value, buffer, position);
+    }
+
+    void writeFloat(float value) {
+        ensureCapacity(4);
+        position += BinaryData.encodeFloat(value, buffer, position);
+    }
+
+    void writeDouble(double value) {
+        ensureCapacity(8);
+        position += BinaryData.encodeDouble(value, buffer, position);
+    }
+
+    void writeFixed(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    void writeBytes(byte[] bytes, int offset, int length) {
+        writeInt(length);
+        writeFixed(bytes, offset, length);
+    }
+
+    void writeString(String value) {
+        writeString(value.toCharArray(), 0, value.length());
+    }
+
+    /**
+     * writes the UTF-8 encoded characters prefixed with their length, replacing malformed surrogates
+     * with {@code '?'} exactly like {@link String#getBytes(java.nio.charset.Charset)} does
+     */
+    void writeString(char[] chars, int offset, int length) {
+        int end = offset + length;
+        writeInt(utf8Length(chars, offset, end));
+        ensureCapacity(length * 3);
+        byte[] bytes = buffer;
+        int p = position;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                bytes[p++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[p++] = (byte) (0xc0 | (c >> 6));
+                bytes[p++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                    int codePoint = Character.toCodePoint(c, chars[++i]);
+                    bytes[p++] = (byte) (0xf0 | (codePoint >> 18));
+                    bytes[p++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    bytes[p++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    bytes[p++] = (byte) (0x80 | (codePoint & 0x3f));
+                } else {
+                    bytes[p++] = '?';
+                }
+            } else {
+                bytes[p++] = (byte) (0xe0 | (c >> 12));
+                bytes[p++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[p++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        position = p;
+    }
+
+    /**
+     * inserts a long at the given position, moving everything written after it
+     */
+    void insertLong(int at, long value) {
+        byte[] encoded = new byte[MAX_VARINT_LENGTH];
+        int length = BinaryData.encodeLong(value, encoded, 0);
+        ensureCapacity(length);
+        System.arraycopy(buffer, at, buffer, at + length, position - at);
+        System.arraycopy(encoded, 0, buffer, at, length);
+        position += length;
+    }
+
+    /**
+     * copies the bytes written from the given position, so they can be written again in a different order
+     */
+    byte[] copyFrom(int from) {
+        return Arrays.copyOfRange(buffer, from, position);
+    }
+
+    /**
+     * @return the written bytes, backed by this buffer until it is written again
+     */
+    ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, position);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, position);
+    }
+
+    /**
+     * @throws java.nio.BufferOverflowException if there is not enough space left, nothing is written then
+     */
+    int writeTo(ByteBuffer byteBuffer) {
+        byteBuffer.put(buffer, 0, position);
+        return position;
+    }
+
+    private static int utf8Length(char[] chars, int offset, int end) {
+        int length = 0;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                    length += 4;
+                    i++;
+                } else {
+                    length++;
+                }
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+
+    private static final class Discarding extends AvroBinaryBuffer {
+        Discarding() {
+            super(0);
+        }
+
+        @Override
+        void truncate(int newPosition) {
+        }
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        void writeBoolean(boolean value) {
+        }
+
+        @Override
+        void writeInt(int value) {
+        }
+
+        @Override
+        void writeLong(long value) {
+        }
+
+        @Override
+        void writeFloat(float value) {
+        }
+
+        @Override
+        void writeDouble(double value) {
+        }
+
+        @Override
+        void writeFixed(byte[] bytes, int offset, int length) {
+        }
+
+        @Override
+        void writeString(String value) {
+        }
+
+        @Override
+        void writeString(char[] chars, int offset, int length) {
+        }
+
+        @Override
+        void insertLong(int at, long value) {
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package tech.allegro.schema.json2avro.converter;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.apache.avro.Conversion;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -13,16 +15,53 @@ import org.apache.avro.io.NoWrappingJsonEncoder;
 import org.apache.avro.specific.SpecificData;
 import org.apache.avro.specific.SpecificDatumWriter;
 import org.apache.avro.specific.SpecificRecord;
+import org.apache.avro.util.Utf8;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
 
+import static tech.allegro.schema.json2avro.converter.ConversionMetrics.Direction.AVRO_TO_JSON;
+
+/**
+ * Converts avro records and binary avro to json documents.
+ * <p>
+ * Instances are thread safe and meant to be shared. Writers, transcoders and datum readers compiled for a schema are
+ * kept in caches read without locking, bounded to the {@link SchemaCache#DEFAULT_MAXIMUM_SIZE} most recently used
+ * schemas each. Json output buffers are reused per thread.
+ */
 public class AvroJsonConverter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().setRootValueSeparator(null);
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+
     private final SpecificData specificData;
     private final GenericData genericData;
+    private final SchemaCache schemaCache;
+    private final ConversionMetrics metrics;
+    private final BoundedCache<Schema, AvroToJsonWriter> genericJsonWriters =
+            new BoundedCache<>(SchemaCache.DEFAULT_MAXIMUM_SIZE);
+    private final BoundedCache<Schema, AvroToJsonWriter> specificJsonWriters =
+            new BoundedCache<>(SchemaCache.DEFAULT_MAXIMUM_SIZE);
+    private final BoundedCache<Schema, BoundedCache<Schema, GenericDatumReader<GenericRecord>>> readers =
+            new BoundedCache<>(SchemaCache.DEFAULT_MAXIMUM_SIZE);
+    private final BoundedCache<Schema, BinaryAvroToJsonTranscoder> transcoders =
+            new BoundedCache<>(SchemaCache.DEFAULT_MAXIMUM_SIZE);
+    private final ThreadLocal<JsonOutput> jsonOutputs = ThreadLocal.withInitial(JsonOutput::new);
 
     public AvroJsonConverter(Conversion<?>... conversions) {
+        this(new SchemaCache(), conversions);
+    }
+
+    public AvroJsonConverter(SchemaCache schemaCache, Conversion<?>... conversions) {
+        this(schemaCache, ConversionMetrics.NONE, conversions);
+    }
+
+    /**
+     * @param metrics receives the measurements of the conversions
+     */
+    public AvroJsonConverter(SchemaCache schemaCache, ConversionMetrics metrics, Conversion<?>... conversions) {
+        this.schemaCache = schemaCache;
+        this.metrics = metrics;
         specificData = new SpecificData();
         genericData = new GenericData();
         Arrays.stream(conversions).forEach(it -> {
@@ -33,20 +72,142 @@ public class AvroJsonConverter {
     }
 
     public byte[] convertToJson(byte[] avro, String schema) {
-        return convertToJson(avro, new Schema.Parser().parse(schema));
+        return convertToJson(avro, schemaCache.parse(schema));
     }
 
     public byte[] convertToJson(byte[] avro, Schema schema) {
+        if (metrics == ConversionMetrics.NONE) {
+            return toJson(avro, schema);
+        }
+        long start = System.nanoTime();
         try {
-            BinaryDecoder binaryDecoder = DecoderFactory.get().binaryDecoder(avro, null);
-            GenericRecord record = new GenericDatumReader<GenericRecord>(schema, schema, genericData).read(null, binaryDecoder);
-            return convertToJson(record);
+            byte[] json = toJson(avro, schema);
+            metrics.onConversion(schema, AVRO_TO_JSON, avro.length, json.length, System.nanoTime() - start);
+            return json;
+        } catch (RuntimeException e) {
+            metrics.onFailure(schema, AVRO_TO_JSON, e);
+            throw e;
+        }
+    }
+
+    private byte[] toJson(byte[] avro, Schema schema) {
+        byte[] json = schema.getType() == Schema.Type.RECORD ? transcodeJson(avro, schema) : null;
+        return json != null ? json : decodeJson(avro, schema);
+    }
+
+    public byte[] convertToJson(byte[] avro, String writerSchema, String readerSchema) {
+        return convertToJson(avro, schemaCache.parse(writerSchema), schemaCache.parse(readerSchema));
+    }
+
+    /**
+     * converts binary avro written with the writer schema to json of the reader schema, resolving the schemas the way
+     * a datum reader does: fields missing in the writer schema get their defaults, fields missing in the reader schema
+     * are skipped and numbers are promoted
+     */
+    public byte[] convertToJson(byte[] avro, Schema writerSchema, Schema readerSchema) {
+        if (writerSchema.equals(readerSchema)) {
+            return convertToJson(avro, readerSchema);
+        }
+        if (metrics == ConversionMetrics.NONE) {
+            return toJson(avro, writerSchema, readerSchema);
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] json = toJson(avro, writerSchema, readerSchema);
+            metrics.onConversion(readerSchema, AVRO_TO_JSON, avro.length, json.length, System.nanoTime() - start);
+            return json;
+        } catch (RuntimeException e) {
+            metrics.onFailure(readerSchema, AVRO_TO_JSON, e);
+            throw e;
+        }
+    }
+
+    private byte[] toJson(byte[] avro, Schema writerSchema, Schema readerSchema) {
+        try {
+            return toJson(reader(writerSchema, readerSchema).read(null, DecoderFactory.get().binaryDecoder(avro, null)));
         } catch (IOException e) {
             throw new AvroConversionException("Failed to create avro structure.", e);
         }
     }
 
     public byte[] convertToJson(GenericRecord record) {
+        if (metrics == ConversionMetrics.NONE) {
+            return toJson(record);
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] json = toJson(record);
+            metrics.onConversion(record.getSchema(), AVRO_TO_JSON, 0, json.length, System.nanoTime() - start);
+            return json;
+        } catch (RuntimeException e) {
+            metrics.onFailure(record.getSchema(), AVRO_TO_JSON, e);
+            throw e;
+        }
+    }
+
+    private byte[] toJson(GenericRecord record) {
+        byte[] json = writeJson(record);
+        return json != null ? json : encodeJson(record);
+    }
+
+    /**
+     * @return the json transcoded from the binary avro without decoding a record, or null if the record has to be
+     * decoded to report why it cannot be converted
+     */
+    private byte[] transcodeJson(byte[] avro, Schema schema) {
+        BinaryAvroToJsonTranscoder transcoder = transcoder(schema);
+        return writeJson(output -> {
+            output.decoder = DecoderFactory.get().binaryDecoder(avro, output.decoder);
+            transcoder.transcode(output.decoder, output.generator, output.scratch);
+        });
+    }
+
+    private BinaryAvroToJsonTranscoder transcoder(Schema schema) {
+        return transcoders.get(schema, s -> new BinaryAvroToJsonTranscoder(s, genericData));
+    }
+
+    /**
+     * @return the json written by the writer compiled for the schema of the record, or null if the record has to be
+     * written by the json encoder to report why it cannot be converted
+     */
+    private byte[] writeJson(GenericRecord record) {
+        AvroToJsonWriter writer = record instanceof SpecificRecord
+                ? jsonWriter(specificJsonWriters, record.getSchema(), specificData)
+                : jsonWriter(genericJsonWriters, record.getSchema(), genericData);
+        return writeJson(output -> writer.write(record, output.generator));
+    }
+
+    private static AvroToJsonWriter jsonWriter(BoundedCache<Schema, AvroToJsonWriter> writers, Schema schema,
+                                               GenericData model) {
+        return writers.get(schema, s -> new AvroToJsonWriter(s, model));
+    }
+
+    private byte[] writeJson(JsonWriting writing) {
+        JsonOutput output = jsonOutputs.get();
+        try {
+            writing.writeTo(output);
+            output.generator.flush();
+            byte[] json = output.buffer.toByteArray();
+            output.reset();
+            return json;
+        } catch (IOException | RuntimeException e) {
+            // the generator is left inside the unfinished json
+            jsonOutputs.remove();
+            return null;
+        }
+    }
+
+    private byte[] decodeJson(byte[] avro, Schema schema) {
+        try {
+            BinaryDecoder binaryDecoder = DecoderFactory.get().binaryDecoder(avro, null);
+            GenericRecord record = reader(schema, schema).read(null, binaryDecoder);
+            return toJson(record);
+        } catch (IOException e) {
+            throw new AvroConversionException("Failed to create avro structure.", e);
+        }
+    }
+
+    private byte[] encodeJson(GenericRecord record) {
         try {
             ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             NoWrappingJsonEncoder jsonEncoder = new NoWrappingJsonEncoder(record.getSchema(), outputStream);
@@ -60,4 +221,46 @@ public class AvroJsonConverter {
             throw new AvroConversionException("Failed to convert to JSON.", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Readers are cached per pair of schemas, so the resolving decoder each of them keeps per thread is built once.
+     */
+    private GenericDatumReader<GenericRecord> reader(Schema writerSchema, Schema readerSchema) {
+        return readers.get(writerSchema, schema -> new BoundedCache<>(SchemaCache.DEFAULT_MAXIMUM_SIZE))
+                .get(readerSchema, schema -> new GenericDatumReader<>(writerSchema, schema, genericData));
+    }
+
+    /**
+     * @return the cache of schemas given as strings
+     */
+    public SchemaCache getSchemaCache() {
+        return schemaCache;
+    }
+
+    private interface JsonWriting {
+        void writeTo(JsonOutput output) throws IOException;
+    }
+
+    private final class JsonOutput {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final JsonGenerator generator;
+        private final Utf8 scratch = new Utf8();
+        private BinaryDecoder decoder;
+
+        JsonOutput() {
+            try {
+                generator = JSON_FACTORY.createGenerator(buffer);
+            } catch (IOException e) {
+                throw new AvroConversionException("Failed to create json generator.", e);
+            }
+        }
+
+        void reset() {
+            if (buffer.size() > MAX_REUSED_BUFFER_SIZE) {
+                jsonOutputs.remove();
+            } else {
+                buffer.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package tech.allegro.schema.json2avro.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Conversion;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalType;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericEnumSymbol;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificRecordBase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes avro datums of a schema as json to a Jackson {@link JsonGenerator}, giving the same output as
+ * {@link org.apache.avro.io.NoWrappingJsonEncoder} fed by a datum writer of the same data model: union values are not
+ * wrapped with their types, bytes and fixed are written as ISO-8859-1 strings and the logical type conversions of the
+ * data model are applied.
+ * <p>
+ * The writer is compiled once per schema, so no parser of the json grammar of the schema runs for every datum.
+ * Datums the datum writer would not accept make it throw a runtime exception, the json written so far is invalid then.
+ */
+final class AvroToJsonWriter {
+    private final GenericData data;
+    private final boolean specific;
+    private final Node root;
+
+    AvroToJsonWriter(Schema schema, GenericData data) {
+        this.data = data;
+        this.specific = data instanceof SpecificData;
+        this.root = compile(schema, new IdentityHashMap<>());
+    }
+
+    void write(Object datum, JsonGenerator generator) throws IOException {
+        root.write(datum, generator);
+    }
+
+    private Node compile(Schema schema, Map<Schema, RecordNode> records) {
+        switch (schema.getType()) {
+            case RECORD:
+                RecordNode record = records.get(schema);
+                if (record == null) {
+                    record = new RecordNode(schema);
+                    records.put(schema, record);
+                    record.compileFields(records);
+                }
+                return record;
+            case ENUM:
+                return new EnumNode(schema);
+            case ARRAY:
+                return new ArrayNode(schema, compile(schema.getElementType(), records));
+            case MAP:
+                return new MapNode(schema, compile(schema.getValueType(), records));
+            case UNION:
+                List<Schema> types = schema.getTypes();
+                Node[] branches = new Node[types.size()];
+                for (int i = 0; i < branches.length; i++) {
+                    branches[i] = compile(types.get(i), records);
+                }
+                return new UnionNode(schema, branches);
+            case FIXED:
+                return new FixedNode(schema);
+            case STRING:
+                return new PrimitiveNode(schema, (datum, generator) -> {
+                    if (!(datum instanceof CharSequence)) {
+                        throw new AvroTypeException("Not a string: " + datum);
+                    }
+                    generator.writeString(datum.toString());
+                });
+            case BYTES:
+                return new PrimitiveNode(schema, (datum, generator) -> {
+                    ByteBuffer bytes = (ByteBuffer) datum;
+                    if (bytes.hasArray()) {
+                        writeLatin1(bytes.array(), bytes.position(), bytes.remaining(), generator);
+                    } else {
+                        byte[] copy = new byte[bytes.remaining()];
+                        bytes.duplicate().get(copy);
+                        writeLatin1(copy, 0, copy.length, generator);
+                    }
+                });
+            case INT:
+                return new PrimitiveNode(schema, (datum, generator) -> generator.writeNumber(((Number) datum).intValue()));
+            case LONG:
+                return new PrimitiveNode(schema, (datum, generator) -> generator.writeNumber(((Number) datum).longValue()));
+            case FLOAT:
+                return new PrimitiveNode(schema, (datum, generator) -> generator.writeNumber(((Number) datum).floatValue()));
+            case DOUBLE:
+                return new PrimitiveNode(schema, (datum, generator) -> generator.writeNumber(((Number) datum).doubleValue()));
+            case BOOLEAN:
+                return new PrimitiveNode(schema, (datum, generator) -> generator.writeBoolean((Boolean) datum));
+            case NULL:
+                return new PrimitiveNode(schema, (datum, generator) -> generator.writeNull());
+            default:
+                throw new AvroTypeException("Unsupported schema type: " + schema.getType());
+        }
+    }
+
+    private static void writeLatin1(byte[] bytes, int offset, int length, JsonGenerator generator) throws IOException {
+        generator.writeString(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    private interface ValueWriter {
+        void write(Object datum, JsonGenerator generator) throws IOException;
+    }
+
+    private abstract class Node {
+        final Schema schema;
+        final LogicalType logicalType;
+
+        Node(Schema schema) {
+            this.schema = schema;
+            this.logicalType = schema.getLogicalType();
+        }
+
+        void write(Object datum, JsonGenerator generator) throws IOException {
+            if (datum != null && logicalType != null) {
+                datum = toRawType(datum, data.getConversionByClass(datum.getClass(), logicalType));
+            }
+            writeRaw(datum, generator);
+        }
+
+        Object toRawType(Object datum, Conversion<?> conversion) {
+            return conversion == null ? datum : Conversions.convertToRawType(datum, schema, logicalType, conversion);
+        }
+
+        abstract void writeRaw(Object datum, JsonGenerator generator) throws IOException;
+    }
+
+    private final class PrimitiveNode extends Node {
+        private final ValueWriter writer;
+
+        PrimitiveNode(Schema schema, ValueWriter writer) {
+            super(schema);
+            this.writer = writer;
+        }
+
+        @Override
+        void writeRaw(Object datum, JsonGenerator generator) throws IOException {
+            writer.write(datum, generator);
+        }
+    }
+
+    private final class RecordNode extends Node {
+        private SerializedString[] names;
+        private int[] positions;
+        private Node[] fields;
+
+        RecordNode(Schema schema) {
+            super(schema);
+        }
+
+        void compileFields(Map<Schema, RecordNode> records) {
+            List<Schema.Field> schemaFields = schema.getFields();
+            SerializedString[] names = new SerializedString[schemaFields.size()];
+            int[] positions = new int[names.length];
+            Node[] fields = new Node[names.length];
+            for (int i = 0; i < names.length; i++) {
+                Schema.Field field = schemaFields.get(i);
+                names[i] = new SerializedString(field.name());
+                positions[i] = field.pos();
+                fields[i] = compile(field.schema(), records);
+            }
+            this.names = names;
+            this.positions = positions;
+            this.fields = fields;
+        }
+
+        @Override
+        void writeRaw(Object datum, JsonGenerator generator) throws IOException {
+            IndexedRecord record = (IndexedRecord) datum;
+            // like SpecificDatumWriter, fields of generated classes are converted by the conversions of the class
+            SpecificRecordBase specificRecord = specific && record instanceof SpecificRecordBase ? (SpecificRecordBase) record : null;
+            generator.writeStartObject();
+            for (int i = 0; i < fields.length; i++) {
+                generator.writeFieldName(names[i]);
+                Object value = record.get(positions[i]);
+                Node field = fields[i];
+                if (specificRecord == null) {
+                    field.write(value, generator);
+                } else {
+                    if (field.logicalType != null) {
+                        value = field.toRawType(value, specificRecord.getConversion(positions[i]));
+                    }
+                    field.writeRaw(value, generator);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private final class EnumNode extends Node {
+
+        EnumNode(Schema schema) {
+            super(schema);
+        }
+
+        @Override
+        void writeRaw(Object datum, JsonGenerator generator) throws IOException {
+            if (!(datum instanceof GenericEnumSymbol || specific && datum instanceof Enum)) {
+                throw new AvroTypeException("Not an enum: " + datum + " for schema: " + schema);
+            }
+            String symbol = datum.toString();
+            if (!schema.hasEnumSymbol(symbol)) {
+                throw new AvroTypeException("Not an enum symbol: " + symbol + " for schema: " + schema);
+            }
+            generator.writeString(symbol);
+        }
+    }
+
+    private final class ArrayNode extends Node {
+        private final Node elements;
+
+        ArrayNode(Schema schema, Node elements) {
+            super(schema);
+            this.elements = elements;
+        }
+
+        @Override
+        void writeRaw(Object datum, JsonGenerator generator) throws IOException {
+            generator.writeStartArray();
+            for (Object element : (Collection<?>) datum) {
+                elements.write(element, generator);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private final class MapNode extends Node {
+        private final Node values;
+
+        MapNode(Schema schema, Node values) {
+            super(schema);
+            this.values = values;
+        }
+
+        @Override
+        void writeRaw(Object datum, JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) datum).entrySet()) {
+                generator.writeFieldName(entry.getKey().toString());
+                values.write(entry.getValue(), generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private final class UnionNode extends Node {
+        private final Node[] branches;
+
+        UnionNode(Schema schema, Node[] branches) {
+            super(schema);
+            this.branches = branches;
+        }
+
+        @Override
+        void writeRaw(Object datum, JsonGenerator generator) throws IOException {
+            branches[data.resolveUnion(schema, datum)].write(datum, generator);
+        }
+    }
+
+    private final class FixedNode extends Node {
+        private final int size;
+
+        FixedNode(Schema schema) {
+            super(schema);
+            this.size = schema.getFixedSize();
+        }
+
+        @Override
+        void writeRaw(Object datum, JsonGenerator generator) throws IOException {
+            writeLatin1(((GenericFixed) datum).bytes(), 0, size, generator);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package tech.allegro.schema.json2avro.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.util.Utf8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transcodes binary avro of a schema to json token by token, giving the same output as decoding a record with
+ * {@link GenericDatumReader} and writing it with {@link AvroToJsonWriter}, without creating the record.
+ * <p>
+ * Only values of logical types with a conversion registered in the data model are decoded to objects, so the
+ * conversions are applied the same way as when decoding the record and writing it back.
+ */
+final class BinaryAvroToJsonTranscoder {
+    private final GenericData data;
+    private final Node root;
+
+    BinaryAvroToJsonTranscoder(Schema schema, GenericData data) {
+        this.data = data;
+        this.root = compile(schema, new IdentityHashMap<>());
+    }
+
+    /**
+     * @param scratch reused for the strings read from the decoder
+     */
+    void transcode(BinaryDecoder decoder, JsonGenerator generator, Utf8 scratch) throws IOException {
+        root.transcode(decoder, generator, scratch);
+    }
+
+    private Node compile(Schema schema, Map<Schema, RecordNode> records) {
+        if (schema.getLogicalType() != null && data.getConversionFor(schema.getLogicalType()) != null) {
+            return new ConvertedNode(schema, data);
+        }
+        switch (schema.getType()) {
+            case RECORD:
+                RecordNode record = records.get(schema);
+                if (record == null) {
+                    record = new RecordNode();
+                    records.put(schema, record);
+                    record.compileFields(schema, records);
+                }
+                return record;
+            case ENUM:
+                return new EnumNode(schema);
+            case ARRAY:
+                return new ArrayNode(compile(schema.getElementType(), records));
+            case MAP:
+                return new MapNode(compile(schema.getValueType(), records));
+            case UNION:
+                List<Schema> types = schema.getTypes();
+                Node[] branches = new Node[types.size()];
+                for (int i = 0; i < branches.length; i++) {
+                    branches[i] = compile(types.get(i), records);
+                }
+                return (decoder, generator, scratch) -> branches[decoder.readIndex()].transcode(decoder, generator, scratch);
+            case FIXED:
+                int size = schema.getFixedSize();
+                return (decoder, generator, scratch) -> {
+                    byte[] bytes = new byte[size];
+                    decoder.readFixed(bytes, 0, size);
+                    writeLatin1(bytes, 0, size, generator);
+                };
+            case STRING:
+                return BinaryAvroToJsonTranscoder::transcodeString;
+            case BYTES:
+                return (decoder, generator, scratch) -> {
+                    ByteBuffer bytes = decoder.readBytes(null);
+                    writeLatin1(bytes.array(), bytes.position(), bytes.remaining(), generator);
+                };
+            case INT:
+                return (decoder, generator, scratch) -> generator.writeNumber(decoder.readInt());
+            case LONG:
+                return (decoder, generator, scratch) -> generator.writeNumber(decoder.readLong());
+            case FLOAT:
+                return (decoder, generator, scratch) -> generator.writeNumber(decoder.readFloat());
+            case DOUBLE:
+                return (decoder, generator, scratch) -> generator.writeNumber(decoder.readDouble());
+            case BOOLEAN:
+                return (decoder, generator, scratch) -> generator.writeBoolean(decoder.readBoolean());
+            case NULL:
+                return (decoder, generator, scratch) -> {
+                    decoder.readNull();
+                    generator.writeNull();
+                };
+            default:
+                throw new AvroTypeException("Unsupported schema type: " + schema.getType());
+        }
+    }
+
+    private static void transcodeString(BinaryDecoder decoder, JsonGenerator generator, Utf8 scratch) throws IOException {
+        Utf8 string = decoder.readString(scratch);
+        byte[] bytes = string.getBytes();
+        int length = string.getByteLength();
+        if (isAscii(bytes, length)) {
+            generator.writeUTF8String(bytes, 0, length);
+        } else {
+            // decoded to replace malformed sequences like the datum reader does
+            generator.writeString(string.toString());
+        }
+    }
+
+    private static boolean isAscii(byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeLatin1(byte[] bytes, int offset, int length, JsonGenerator generator) throws IOException {
+        generator.writeString(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+    }
+
+    private interface Node {
+        void transcode(BinaryDecoder decoder, JsonGenerator generator, Utf8 scratch) throws IOException;
+    }
+
+    private final class RecordNode implements Node {
+        private SerializedString[] names;
+        private Node[] fields;
+
+        void compileFields(Schema schema, Map<Schema, RecordNode> records) {
+            List<Schema.Field> schemaFields = schema.getFields();
+            SerializedString[] names = new SerializedString[schemaFields.size()];
+            Node[] fields = new Node[names.length];
+            for (int i = 0; i < names.length; i++) {
+                Schema.Field field = schemaFields.get(i);
+                names[i] = new SerializedString(field.name());
+                fields[i] = compile(field.schema(), records);
+            }
+            this.names = names;
+            this.fields = fields;
+        }
+
+        @Override
+        public void transcode(BinaryDecoder decoder, JsonGenerator generator, Utf8 scratch) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < fields.length; i++) {
+                generator.writeFieldName(names[i]);
+                fields[i].transcode(decoder, generator, scratch);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private static final class EnumNode implements Node {
+        private final SerializedString[] symbols;
+
+        EnumNode(Schema schema) {
+            this.symbols = schema.getEnumSymbols().stream().map(SerializedString::new).toArray(SerializedString[]::new);
+        }
+
+        @Override
+        public void transcode(BinaryDecoder decoder, JsonGenerator generator, Utf8 scratch) throws IOException {
+            generator.writeString(symbols[decoder.readEnum()]);
+        }
+    }
+
+    private static final class ArrayNode implements Node {
+        private final Node elements;
+
+        ArrayNode(Node elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public void transcode(BinaryDecoder decoder, JsonGenerator generator, Utf8 scratch) throws IOException {
+            generator.writeStartArray();
+            for (long block = decoder.readArrayStart(); block != 0; block = decoder.arrayNext()) {
+                for (long i = 0; i < block; i++) {
+                    elements.transcode(decoder, generator, scratch);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static final class MapNode implements Node {
+        private final Node values;
+
+        MapNode(Node values) {
+            this.values = values;
+        }
+
+        @Override
+        public void transcode(BinaryDecoder decoder, JsonGenerator generator, Utf8 scratch) throws IOException {
+            generator.writeStartObject();
+            for (long block = decoder.readMapStart(); block != 0; block = decoder.mapNext()) {
+                for (long i = 0; i < block; i++) {
+                    generator.writeFieldName(decoder.readString(scratch).toString());
+                    values.transcode(decoder, generator, scratch);
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Value of a logical type with a conversion, decoded to the converted type and written back through the
+     * conversion.
+     */
+    private static final class ConvertedNode implements Node {
+        private final GenericDatumReader<Object> reader;
+        private final AvroToJsonWriter writer;
+
+        ConvertedNode(Schema schema, GenericData data) {
+            this.reader = new GenericDatumReader<>(schema, schema, data);
+            this.writer = new AvroToJsonWriter(schema, data);
+        }
+
+        @Override
+        public void transcode(BinaryDecoder decoder, JsonGenerator generator, Utf8 scratch) throws IOException {
+            writer.write(reader.read(null, decoder), generator);
+        }
+    }
+}
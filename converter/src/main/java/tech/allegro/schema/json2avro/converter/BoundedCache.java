@@ -0,0 +1,114 @@
+package tech.allegro.schema.json2avro.converter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Concurrent cache holding at most a maximum number of values, evicted in least recently used order. Used for
+ * everything the converters derive from a schema, so schemas no longer used are not kept reachable forever.
+ * <p>
+ * Finding a cached value takes no lock. Recency is tracked by a clock advanced only when a value is computed: a hit
+ * stamps the entry with the current time of the clock, written only if the entry was not already used since the last
+ * miss, so threads hitting the same keys do not write at all. Entries used since the last miss are all evicted after
+ * the ones which were not. Only misses are serialized, to evict one entry at a time.
+ */
+final class BoundedCache<K, V> {
+    private final int maximumSize;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final Object evictionLock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    BoundedCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size of the cache must be positive, got " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @param factory computes the value of a key not cached yet, outside of any lock. A value computed concurrently
+     *                twice keeps the first instance. Nothing is cached if the factory throws.
+     * @return the cached value, computed if the key is not cached yet
+     */
+    V get(K key, Function<? super K, ? extends V> factory) {
+        Entry<V> cached = entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            cached.touch(clock.get() + 1);
+            return cached.value;
+        }
+        misses.increment();
+        Entry<V> computed = new Entry<>(factory.apply(key));
+        synchronized (evictionLock) {
+            computed.lastUsed = clock.addAndGet(2);
+            Entry<V> existing = entries.putIfAbsent(key, computed);
+            if (existing != null) {
+                return existing.value;
+            }
+            while (entries.size() > maximumSize) {
+                evictLeastRecentlyUsed(computed);
+            }
+            return computed.value;
+        }
+    }
+
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    int getMaximumSize() {
+        return maximumSize;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private void evictLeastRecentlyUsed(Entry<V> added) {
+        K eldestKey = null;
+        Entry<V> eldest = null;
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            Entry<V> candidate = entry.getValue();
+            if (candidate != added && (eldest == null || candidate.lastUsed < eldest.lastUsed)) {
+                eldestKey = entry.getKey();
+                eldest = candidate;
+            }
+        }
+        if (eldest == null) {
+            return;
+        }
+        entries.remove(eldestKey, eldest);
+    }
+
+    /**
+     * A cached value with the time of the clock it was last used at. Misses advance the clock by two, so hits
+     * stamped with the time following the last miss are more recent than it and older than the next one.
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private volatile long lastUsed;
+
+        private Entry(V value) {
+            this.value = value;
+        }
+
+        private void touch(long now) {
+            if (lastUsed != now) {
+                lastUsed = now;
+            }
+        }
+    }
+}
@@ -14,11 +14,11 @@ import tech.allegro.schema.json2avro.converter.types.LongTimestampMicrosConverte
 import tech.allegro.schema.json2avro.converter.types.LongTimestampMillisConverter;
 import tech.allegro.schema.json2avro.converter.types.MapConverter;
 import tech.allegro.schema.json2avro.converter.types.NullConverter;
+import tech.allegro.schema.json2avro.converter.types.Overrides;
 import tech.allegro.schema.json2avro.converter.types.PrimitiveConverter;
 import tech.allegro.schema.json2avro.converter.types.RecordConverter;
 import tech.allegro.schema.json2avro.converter.types.UnionConverter;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,9 +26,27 @@ import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Converts json maps to records with the converter resolved for each node of the schema.
+ * <p>
+ * Instances are thread safe and meant to be shared. The {@link ConversionPlan}s of the
+ * {@link SchemaCache#DEFAULT_MAXIMUM_SIZE} most recently used schemas are cached and read without locking, conversions
+ * keep their state on the stack and in the context they are given. Plans are found by {@link Schema#equals}, which
+ * ignores documentation, so equal schemas share the plan of the first instance converted and records converted with
+ * any of them report that instance from {@link GenericData.Record#getSchema()}.
+ * <p>
+ * Subclasses overriding {@link #read(Schema.Field, Schema, Object, Deque, boolean)} are called for every field,
+ * without conversion plans.
+ */
 public class CompositeJsonToAvroReader implements JsonToAvroReader {
     private final List<AvroTypeConverter> converters;
     private final AvroTypeConverter mainRecordConverter;
+    private final ConversionMetrics metrics;
+    private final BoundedCache<Schema, ConversionPlan> plans = new BoundedCache<>(SchemaCache.DEFAULT_MAXIMUM_SIZE);
+    private final boolean customFieldReading = Overrides.isOverridden(this, CompositeJsonToAvroReader.class,
+            "read", Schema.Field.class, Schema.class, Object.class, Deque.class, boolean.class);
+    private final boolean customRecordReading = Overrides.isOverridden(this, CompositeJsonToAvroReader.class,
+            "read", Map.class, Schema.class);
 
     public CompositeJsonToAvroReader() {
         this(Collections.emptyList(), null);
@@ -59,6 +77,19 @@ public class CompositeJsonToAvroReader implements JsonToAvroReader {
      * @param unknownFieldListener the listener to customize unknown field error management
      */
     public CompositeJsonToAvroReader(List<AvroTypeConverter> additionalConverters, UnknownFieldListener unknownFieldListener) {
+        this(additionalConverters, unknownFieldListener, ConversionMetrics.NONE);
+    }
+
+    /**
+     * this constructor allows you to specify custom converters. It can be used to convert custom java types, or avro schema with logical type.
+     *
+     * @param additionalConverters additional converters that implement {@link AvroTypeConverter}. These converters will override default converters.
+     * @param unknownFieldListener the listener to customize unknown field error management
+     * @param metrics receives the union and unknown field measurements of the conversions
+     */
+    public CompositeJsonToAvroReader(List<AvroTypeConverter> additionalConverters, UnknownFieldListener unknownFieldListener,
+                                     ConversionMetrics metrics) {
+        this.metrics = metrics;
         this.mainRecordConverter = createMainConverter(unknownFieldListener);
         this.converters = new ArrayList<>();
         this.converters.addAll(additionalConverters);
@@ -89,7 +120,42 @@ public class CompositeJsonToAvroReader implements JsonToAvroReader {
 
     @Override
     public GenericData.Record read(Map<String, Object> json, Schema schema) {
-        return (GenericData.Record) this.mainRecordConverter.convert(null, schema, json, new ArrayDeque<>(), false);
+        return read(json, schema, new ConversionContext());
+    }
+
+    GenericData.Record read(Map<String, Object> json, Schema schema, ConversionContext context) {
+        if (customFieldReading) {
+            // the plans would skip the fields read by the subclass
+            return (GenericData.Record) mainRecordConverter.convert(null, schema, json, context.getPath(), false);
+        }
+        return (GenericData.Record) getPlan(schema).convert(json, context, false);
+    }
+
+    /**
+     * @return false if a subclass customizes the reading of records or fields, which the plans and the streaming
+     * writer would skip
+     */
+    boolean usesPlans() {
+        return !customFieldReading && !customRecordReading;
+    }
+
+    /**
+     * returns the conversion plan of a record schema. Plans are compiled once and cached per schema
+     * while it is among the most recently used ones, so {@link AvroTypeConverter#canManage(Schema, Deque)} is evaluated once per schema node and path.
+     *
+     * @param schema the avro record schema
+     *
+     * @return the cached plan for the schema
+     */
+    public ConversionPlan getPlan(Schema schema) {
+        return plans.get(schema, s -> new ConversionPlan(this, s, mainRecordConverter));
+    }
+
+    /**
+     * @return the metrics receiving the union and unknown field measurements of the conversions
+     */
+    public ConversionMetrics getMetrics() {
+        return metrics;
     }
 
     @Override
@@ -99,10 +165,10 @@ public class CompositeJsonToAvroReader implements JsonToAvroReader {
             path.addLast(field.name());
         }
 
-        AvroTypeConverter converter = this.converters.stream()
-                .filter(c -> c.canManage(schema, path))
-                .findFirst()
-                .orElseThrow(() -> new AvroTypeException("Unsupported type: " + field.schema().getType()));
+        AvroTypeConverter converter = resolveConverter(schema, path);
+        if (converter == null) {
+            throw new AvroTypeException("Unsupported type: " + field.schema().getType());
+        }
         Object result = converter.convert(field, schema, jsonValue, path, silently);
 
         if (pushed) {
@@ -110,4 +176,13 @@ public class CompositeJsonToAvroReader implements JsonToAvroReader {
         }
         return result;
     }
+
+    AvroTypeConverter resolveConverter(Schema schema, Deque<String> path) {
+        for (AvroTypeConverter converter : converters) {
+            if (converter.canManage(schema, path)) {
+                return converter;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,140 @@
+package tech.allegro.schema.json2avro.converter;
+
+import tech.allegro.schema.json2avro.converter.types.TypeMismatchException;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * The state of one conversion along a {@link ConversionPlan}, passed down to the converters of the plan: the path of
+ * the value being converted and, for conversions going on past the values which do not match the schema, where the
+ * violations are collected.
+ * <p>
+ * The path is tracked as the stack of the field nodes of the plan the conversion went through, which costs an array
+ * store per field. The names of the fields are only copied to a deque when a converter asks for the path, to report an
+ * error or to call a converter which is not based on plans.
+ * <p>
+ * A context is created for each converted document, so it is never shared between threads.
+ */
+public final class ConversionContext {
+    private final FieldStack fields;
+    private final ViolationCollector violations;
+    private final boolean reportingUnknownFields;
+
+    ConversionContext() {
+        this(new FieldStack(), null, true);
+    }
+
+    ConversionContext(ViolationCollector violations, boolean reportingUnknownFields) {
+        this(new FieldStack(), violations, reportingUnknownFields);
+    }
+
+    private ConversionContext(FieldStack fields, ViolationCollector violations, boolean reportingUnknownFields) {
+        this.fields = fields;
+        this.violations = violations;
+        this.reportingUnknownFields = reportingUnknownFields;
+    }
+
+    /**
+     * @return the names of the fields leading to the value being converted. The deque is shared by the calls and
+     * brought up to date with the conversion on each call, so converters adding segments to it have to remove them.
+     */
+    public Deque<String> getPath() {
+        return fields.names();
+    }
+
+    /**
+     * reports a value which does not match the schema, so the conversion goes on with the next field
+     *
+     * @return false if the exception has to be thrown, when the conversion does not collect violations or the
+     * maximum number of violations is reached
+     */
+    public boolean collect(TypeMismatchException exception) {
+        return violations != null && violations.collect(exception);
+    }
+
+    /**
+     * @return false if the unknown fields are not reported to the {@link UnknownFieldListener}, when the document is
+     * only validated
+     */
+    public boolean isReportingUnknownFields() {
+        return reportingUnknownFields;
+    }
+
+    /**
+     * @return a context with the same path which does not collect violations, for values which may be rejected as a
+     * whole like the branches of a union
+     */
+    public ConversionContext withoutCollecting() {
+        return violations == null ? this : new ConversionContext(fields, null, reportingUnknownFields);
+    }
+
+    void enter(ConversionPlan fieldPlan) {
+        fields.push(fieldPlan);
+    }
+
+    void exit() {
+        fields.pop();
+    }
+
+    /**
+     * @param record the plan of the record being converted
+     *
+     * @return the field nodes leading to the record, to print its path once the conversion moved on, or {@code null}
+     * if the parents of the plan lead to the record, which they do unless a recursive node of the plan was reused
+     */
+    ConversionPlan[] capturePath(ConversionPlan record) {
+        return record.getFieldDepth() == fields.depth ? null : Arrays.copyOf(fields.plans, fields.depth);
+    }
+
+    static String printPath(ConversionPlan[] fieldPlans, String additionalSegment) {
+        StringBuilder builder = new StringBuilder();
+        for (ConversionPlan fieldPlan : fieldPlans) {
+            builder.append(fieldPlan.getField().name()).append('.');
+        }
+        return builder.append(additionalSegment).toString();
+    }
+
+    /**
+     * The field nodes leading to the value being converted, with the deque of their names copied lazily. The names
+     * of the first {@code namesDepth} nodes are known to be in the deque, the ones of the nodes entered since then are
+     * added when the path is asked for.
+     */
+    private static final class FieldStack {
+        private ConversionPlan[] plans = new ConversionPlan[16];
+        private int depth;
+        private final Deque<String> names = new ArrayDeque<>();
+        private int namesDepth;
+
+        void push(ConversionPlan fieldPlan) {
+            if (depth == plans.length) {
+                plans = Arrays.copyOf(plans, 2 * depth);
+            }
+            plans[depth++] = fieldPlan;
+        }
+
+        void pop() {
+            depth--;
+            if (namesDepth > depth) {
+                namesDepth = depth;
+            }
+        }
+
+        Deque<String> names() {
+            if (names.size() < namesDepth) {
+                // segments removed by a converter, the deque is built again
+                names.clear();
+                namesDepth = 0;
+            }
+            while (names.size() > namesDepth) {
+                names.removeLast();
+            }
+            for (int i = namesDepth; i < depth; i++) {
+                names.addLast(plans[i].getField().name());
+            }
+            namesDepth = depth;
+            return names;
+        }
+    }
+}
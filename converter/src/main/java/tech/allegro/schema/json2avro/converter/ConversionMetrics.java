@@ -0,0 +1,72 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.Schema;
+
+/**
+ * Receives measurements of the conversions done by {@link JsonAvroConverter} and {@link AvroJsonConverter}, keyed by
+ * the schema of the converted records.
+ * <p>
+ * Methods are called by every thread converting, on the path of every conversion, so implementations have to be
+ * thread safe and cheap. Conversions are not measured at all with {@link #NONE}, which is used by default.
+ * {@link LongAdderConversionMetrics} keeps counters and latency histograms of each schema in memory.
+ * <p>
+ * Union and unknown field measurements are taken by {@link CompositeJsonToAvroReader}, so it has to be created with
+ * the metrics too when it is given to {@link JsonAvroConverter}.
+ */
+public interface ConversionMetrics {
+
+    /**
+     * measures nothing, the conversions are not timed when it is used
+     */
+    ConversionMetrics NONE = new ConversionMetrics() {
+    };
+
+    enum Direction {
+        JSON_TO_AVRO,
+        AVRO_TO_JSON
+    }
+
+    /**
+     * called after a document or a record was converted
+     *
+     * @param schema the schema of the record
+     * @param direction the direction of the conversion
+     * @param inputBytes the size of the converted document, 0 if a record was converted
+     * @param outputBytes the size of the resulting document, 0 if the result is a record
+     * @param nanos the time the conversion took
+     */
+    default void onConversion(Schema schema, Direction direction, int inputBytes, int outputBytes, long nanos) {
+    }
+
+    /**
+     * called when a conversion failed, before the exception is thrown to the caller
+     *
+     * @param schema the schema of the record
+     * @param direction the direction of the conversion
+     * @param exception the exception thrown to the caller
+     */
+    default void onFailure(Schema schema, Direction direction, RuntimeException exception) {
+    }
+
+    /**
+     * called when json values were converted to unions, including the unions of union branches which were tried and
+     * then rejected
+     *
+     * @param schema the schema of the record the unions belong to
+     * @param unions the number of converted union values
+     * @param branchesTried the number of branches tried to convert them, equal to the number of unions if the first
+     * branch tried accepted every value
+     */
+    default void onUnions(Schema schema, int unions, int branchesTried) {
+    }
+
+    /**
+     * called for each field of a json object which is not a field of the record, whether or not an
+     * {@link UnknownFieldListener} is set
+     *
+     * @param schema the schema of the record the object is converted to a part of
+     * @param name the name of the unknown field
+     */
+    default void onUnknownField(Schema schema, String name) {
+    }
+}
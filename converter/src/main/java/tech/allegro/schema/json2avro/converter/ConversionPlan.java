@@ -0,0 +1,260 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import tech.allegro.schema.json2avro.converter.types.AvroTypeConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A schema node with its {@link AvroTypeConverter} resolved once, so converting a json value is a direct dispatch
+ * instead of asking every registered converter whether it can manage the schema.
+ * <p>
+ * Plans are created by {@link CompositeJsonToAvroReader#getPlan(Schema)}. Child nodes (record fields, array items,
+ * map values and union branches) are compiled lazily on first use. A recursive schema reuses the node compiled for the
+ * same field and schema higher in the tree, so its plan stays finite however deep the converted json is, and the
+ * converter of the recursive nodes is the one resolved for the path of their first occurrence.
+ * <p>
+ * Plans are shared by the threads converting with the same reader. Lazily compiled children, encoded defaults and
+ * converter state are published through volatile fields without locking: threads racing on first use may each compile
+ * them and keep either result, as they are equal.
+ */
+public final class ConversionPlan {
+    private static final ConversionPlan[] NO_CHILDREN = new ConversionPlan[0];
+
+    private final CompositeJsonToAvroReader reader;
+    private final ConversionPlan parent;
+    private final Schema rootSchema;
+    private final Schema.Field field;
+    private final Schema schema;
+    private final boolean fieldNode;
+    private final int fieldDepth;
+    private final AvroTypeConverter converter;
+    private volatile ConversionPlan[] children;
+    private volatile byte[] encodedDefault;
+    private volatile Object state;
+
+    ConversionPlan(CompositeJsonToAvroReader reader, Schema schema, AvroTypeConverter converter) {
+        this.reader = reader;
+        this.parent = null;
+        this.rootSchema = schema;
+        this.field = null;
+        this.schema = schema;
+        this.fieldNode = false;
+        this.fieldDepth = 0;
+        this.converter = converter;
+    }
+
+    private ConversionPlan(ConversionPlan parent, Schema.Field field, Schema schema, boolean fieldNode, Deque<String> path) {
+        this.reader = parent.reader;
+        this.parent = parent;
+        this.rootSchema = parent.rootSchema;
+        this.field = field;
+        this.schema = schema;
+        this.fieldNode = fieldNode;
+        this.fieldDepth = fieldNode ? parent.fieldDepth + 1 : parent.fieldDepth;
+        this.converter = reader.resolveConverter(schema, path);
+    }
+
+    /**
+     * convert the json value with the converter resolved for this node
+     *
+     * @param jsonValue the json value to convert
+     * @param context the path of the field on the json and the violations collected by the conversion
+     * @param silently should be false to throw an error in case of incompatible java type for the avro type
+     *
+     * @return the converted value or an Incompatible instance if silently is true and value is incompatible
+     */
+    public Object convert(Object jsonValue, ConversionContext context, boolean silently) {
+        if (converter == null) {
+            throw new AvroTypeException("Unsupported type: " + field.schema().getType());
+        }
+        if (!fieldNode) {
+            return converter.convert(this, jsonValue, context, silently);
+        }
+        // exited even if the conversion throws, so unions trying further branches see the path they were given
+        context.enter(this);
+        try {
+            return converter.convert(this, jsonValue, context, silently);
+        } finally {
+            context.exit();
+        }
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return the field this node belongs to, {@code null} for the root record
+     */
+    public Schema.Field getField() {
+        return field;
+    }
+
+    /**
+     * @return the schema of the record this plan was compiled for, the root of the tree of plans
+     */
+    public Schema getRootSchema() {
+        return rootSchema;
+    }
+
+    /**
+     * @return the metrics receiving the union and unknown field measurements of the conversions
+     */
+    public ConversionMetrics getMetrics() {
+        return reader.getMetrics();
+    }
+
+    /**
+     * @return the resolved converter, {@code null} if no converter can manage this schema
+     */
+    public AvroTypeConverter getConverter() {
+        return converter;
+    }
+
+    /**
+     * @return the number of field nodes from the root to this node, this one included
+     */
+    int getFieldDepth() {
+        return fieldDepth;
+    }
+
+    /**
+     * @return the field nodes from the root to this node, this one included, which are the path of the converted
+     * values unless a recursive node was reused on the way
+     */
+    ConversionPlan[] getFieldNodes() {
+        ConversionPlan[] fieldNodes = new ConversionPlan[fieldDepth];
+        for (ConversionPlan node = this; node != null; node = node.parent) {
+            if (node.fieldNode) {
+                fieldNodes[node.fieldDepth - 1] = node;
+            }
+        }
+        return fieldNodes;
+    }
+
+    public ConversionPlan getFieldPlan(Schema.Field recordField) {
+        return children()[recordField.pos()];
+    }
+
+    public ConversionPlan getElementPlan() {
+        return children()[0];
+    }
+
+    public ConversionPlan getValuePlan() {
+        return children()[0];
+    }
+
+    public ConversionPlan getBranchPlan(int index) {
+        return children()[index];
+    }
+
+    /**
+     * returns the state the converter of this node derives from it, like lookup tables, created once on first use
+     *
+     * @param factory creates the state for this node, it may be called more than once by concurrent conversions
+     *
+     * @return the state of this node
+     */
+    @SuppressWarnings("unchecked")
+    public <S> S getState(Function<ConversionPlan, S> factory) {
+        Object result = state;
+        if (result == null) {
+            result = factory.apply(this);
+            state = result;
+        }
+        return (S) result;
+    }
+
+    /**
+     * @return the default value of the field encoded as binary avro, {@code null} if the field has no default value
+     */
+    byte[] getEncodedDefault() {
+        byte[] result = encodedDefault;
+        if (result == null && fieldNode && field.hasDefaultValue()) {
+            result = encodeDefault();
+            encodedDefault = result;
+        }
+        return result;
+    }
+
+    private byte[] encodeDefault() {
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
+            new GenericDatumWriter<Object>(field.schema()).write(GenericData.get().getDefaultValue(field), encoder);
+            encoder.flush();
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new AvroConversionException("Failed to encode default value of field " + field.name() + ".", e);
+        }
+    }
+
+    private ConversionPlan[] children() {
+        ConversionPlan[] result = children;
+        if (result == null) {
+            result = compileChildren();
+            children = result;
+        }
+        return result;
+    }
+
+    private ConversionPlan[] compileChildren() {
+        Deque<String> path = compilePath();
+        switch (schema.getType()) {
+            case RECORD:
+                List<Schema.Field> fields = schema.getFields();
+                ConversionPlan[] fieldPlans = new ConversionPlan[fields.size()];
+                for (Schema.Field recordField : fields) {
+                    path.addLast(recordField.name());
+                    fieldPlans[recordField.pos()] = child(recordField, recordField.schema(), true, path);
+                    path.removeLast();
+                }
+                return fieldPlans;
+            case ARRAY:
+                return new ConversionPlan[]{child(field, schema.getElementType(), false, path)};
+            case MAP:
+                return new ConversionPlan[]{child(field, schema.getValueType(), false, path)};
+            case UNION:
+                List<Schema> types = schema.getTypes();
+                ConversionPlan[] branchPlans = new ConversionPlan[types.size()];
+                for (int i = 0; i < branchPlans.length; i++) {
+                    branchPlans[i] = child(field, types.get(i), false, path);
+                }
+                return branchPlans;
+            default:
+                return NO_CHILDREN;
+        }
+    }
+
+    /**
+     * a node with the same field and schema higher in the tree is only reached again through a recursive schema and
+     * would compile the same children, so it is reused instead of compiling a new node per level of recursion
+     */
+    private ConversionPlan child(Schema.Field childField, Schema childSchema, boolean childFieldNode, Deque<String> path) {
+        for (ConversionPlan node = this; node != null; node = node.parent) {
+            if (node.field == childField && node.schema == childSchema && node.fieldNode == childFieldNode) {
+                return node;
+            }
+        }
+        return new ConversionPlan(this, childField, childSchema, childFieldNode, path);
+    }
+
+    private Deque<String> compilePath() {
+        Deque<String> path = new ArrayDeque<>();
+        for (ConversionPlan fieldNode : getFieldNodes()) {
+            path.addLast(fieldNode.field.name());
+        }
+        return path;
+    }
+}
@@ -0,0 +1,44 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.generic.GenericData;
+
+import java.util.List;
+
+/**
+ * The result of {@link JsonAvroConverter#convertCollectingViolations(byte[], org.apache.avro.Schema, int)}, the record
+ * converted from a json document along with the violations of the schema found in it.
+ */
+public final class ConversionResult {
+    private final GenericData.Record record;
+    private final List<Violation> violations;
+
+    ConversionResult(GenericData.Record record, List<Violation> violations) {
+        this.record = record;
+        this.violations = violations;
+    }
+
+    /**
+     * @return the converted record, partial if violations were found: fields of records with violations are left
+     * {@code null}, even if the schema does not allow it. {@code null} if the document could not be converted at all,
+     * like malformed json or a document with more violations than the maximum.
+     */
+    public GenericData.Record getRecord() {
+        return record;
+    }
+
+    /**
+     * @return the violations found, empty if the record was fully converted
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "valid: " + record : "invalid: " + violations;
+    }
+}
@@ -1,80 +1,435 @@
 package tech.allegro.schema.json2avro.converter;
 
 import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.io.BinaryEncoder;
-import org.apache.avro.io.Decoder;
-import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.io.EncoderFactory;
-import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificRecord;
 import org.apache.avro.specific.SpecificRecordBase;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
+import static tech.allegro.schema.json2avro.converter.ConversionMetrics.Direction.JSON_TO_AVRO;
+
+/**
+ * Converts json documents to avro records, binary avro and specific records.
+ * <p>
+ * Instances are thread safe and meant to be shared, threads converting with one instance do not wait on each other.
+ * Everything derived from a schema (conversion plans, datum writers and specific record factories) is compiled once
+ * and kept in caches read without locking, bounded to the {@link SchemaCache#DEFAULT_MAXIMUM_SIZE} most recently used
+ * schemas each. Buffers and encoders are reused per thread. Custom converters, {@link UnknownFieldListener}s and
+ * {@link ConversionMetrics} given to the converter are called concurrently, so they have to be thread safe too.
+ */
 public class JsonAvroConverter {
-    private JsonGenericRecordReader recordReader;
+    /**
+     * the maximum number of violations reported when not given
+     */
+    public static final int DEFAULT_MAX_VIOLATIONS = 100;
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+
+    private final JsonGenericRecordReader recordReader;
+    private final SchemaCache schemaCache;
+    private final ConversionMetrics metrics;
+    private final BoundedCache<Schema, GenericDatumWriter<Object>> writers =
+            new BoundedCache<>(SchemaCache.DEFAULT_MAXIMUM_SIZE);
+    private final BoundedCache<Class<?>, SpecificRecordFactory<?>> specificRecordFactories =
+            new BoundedCache<>(SchemaCache.DEFAULT_MAXIMUM_SIZE);
+    private final ThreadLocal<EncodingContext> encodingContexts = ThreadLocal.withInitial(EncodingContext::new);
 
     public JsonAvroConverter() {
         this.recordReader = new JsonGenericRecordReader();
+        this.schemaCache = new SchemaCache();
+        this.metrics = ConversionMetrics.NONE;
     }
 
     public JsonAvroConverter(ObjectMapper objectMapper) {
         this.recordReader = new JsonGenericRecordReader(objectMapper);
+        this.schemaCache = new SchemaCache();
+        this.metrics = ConversionMetrics.NONE;
     }
 
     public JsonAvroConverter(ObjectMapper objectMapper, JsonToAvroReader jsonToAvroReader) {
+        this(objectMapper, jsonToAvroReader, new SchemaCache());
+    }
+
+    /**
+     * The conversions are measured by the metrics of the reader if it is a {@link CompositeJsonToAvroReader}, so the
+     * union and unknown field measurements of the reader go to the same sink as the others.
+     */
+    public JsonAvroConverter(ObjectMapper objectMapper, JsonToAvroReader jsonToAvroReader, SchemaCache schemaCache) {
         this.recordReader = new JsonGenericRecordReader(objectMapper, jsonToAvroReader);
+        this.schemaCache = schemaCache;
+        this.metrics = metricsOf(jsonToAvroReader);
+    }
+
+    /**
+     * @param metrics receives the measurements of the conversions
+     */
+    public JsonAvroConverter(ConversionMetrics metrics) {
+        this(new ObjectMapper(), new CompositeJsonToAvroReader(Collections.emptyList(), null, metrics), new SchemaCache());
     }
 
+    /**
+     * The conversions are measured by the metrics of the reader if it is a {@link CompositeJsonToAvroReader}.
+     */
     public JsonAvroConverter(JsonToAvroReader jsonToAvroReader) {
         this.recordReader = new JsonGenericRecordReader(jsonToAvroReader);
+        this.schemaCache = new SchemaCache();
+        this.metrics = metricsOf(jsonToAvroReader);
     }
 
     public JsonAvroConverter(ObjectMapper objectMapper, UnknownFieldListener unknownFieldListener) {
         this.recordReader = new JsonGenericRecordReader(objectMapper, unknownFieldListener);
+        this.schemaCache = new SchemaCache();
+        this.metrics = ConversionMetrics.NONE;
+    }
+
+    private static ConversionMetrics metricsOf(JsonToAvroReader jsonToAvroReader) {
+        return jsonToAvroReader instanceof CompositeJsonToAvroReader
+                ? ((CompositeJsonToAvroReader) jsonToAvroReader).getMetrics()
+                : ConversionMetrics.NONE;
     }
 
     public byte[] convertToAvro(byte[] data, String schema) {
-        return convertToAvro(data, new Schema.Parser().parse(schema));
+        return convertToAvro(data, schemaCache.parse(schema));
     }
 
     public byte[] convertToAvro(byte[] data, Schema schema) {
+        EncodingContext context = acquireEncodingContext();
+        try {
+            return encode(data, schema, context).toByteArray();
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * converts the json document to binary avro written to the given output stream
+     */
+    public void convertToAvro(byte[] data, Schema schema, OutputStream outputStream) {
+        EncodingContext context = acquireEncodingContext();
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
-            GenericDatumWriter<Object> writer = new GenericDatumWriter<>(schema);
-            writer.write(convertToGenericDataRecord(data, schema), encoder);
-            encoder.flush();
-            return outputStream.toByteArray();
+            encode(data, schema, context).writeTo(outputStream);
         } catch (IOException e) {
             throw new AvroConversionException("Failed to convert to AVRO.", e);
+        } finally {
+            context.release();
         }
     }
 
-    public GenericData.Record convertToGenericDataRecord(byte[] data, Schema schema) {
-        return recordReader.read(data, schema);
+    /**
+     * converts the json document to binary avro put into the given buffer, starting at its position
+     *
+     * @return the number of bytes written
+     * @throws java.nio.BufferOverflowException if the avro does not fit in the remaining space of the buffer,
+     * nothing is written then
+     */
+    public int convertToAvro(byte[] data, Schema schema, ByteBuffer byteBuffer) {
+        EncodingContext context = acquireEncodingContext();
+        try {
+            return encode(data, schema, context).writeTo(byteBuffer);
+        } finally {
+            context.release();
+        }
     }
 
-    public <T extends SpecificRecordBase & SpecificRecord> T convertToSpecificRecord(byte[] jsonData, Class<T> clazz, Schema schema) {
-        byte[] avroBinaryData = this.convertToAvro(jsonData, schema);
-        SpecificDatumReader<T> reader = new SpecificDatumReader<T>(clazz);
-        ByteArrayInputStream inStream = new ByteArrayInputStream(avroBinaryData);
-        Decoder binaryDecoder = DecoderFactory.get().directBinaryDecoder(inStream, null);
+    private AvroBinaryBuffer encode(byte[] data, Schema schema, EncodingContext context) {
+        if (metrics == ConversionMetrics.NONE) {
+            return encodeUnmeasured(data, schema, context);
+        }
+        long start = System.nanoTime();
+        try {
+            AvroBinaryBuffer buffer = encodeUnmeasured(data, schema, context);
+            metrics.onConversion(schema, JSON_TO_AVRO, data.length, buffer.position(), System.nanoTime() - start);
+            return buffer;
+        } catch (RuntimeException e) {
+            metrics.onFailure(schema, JSON_TO_AVRO, e);
+            throw e;
+        }
+    }
+
+    private AvroBinaryBuffer encodeUnmeasured(byte[] data, Schema schema, EncodingContext context) {
+        AvroBinaryBuffer buffer = context.buffer;
+        if (recordReader.write(data, schema, buffer)) {
+            return buffer;
+        }
+        GenericData.Record record = recordReader.read(data, schema);
         try {
-            Decoder decoder = DecoderFactory.get().validatingDecoder(schema, binaryDecoder);
-            return reader.read(null, decoder);
+            context.encoder = EncoderFactory.get().directBinaryEncoder(buffer, context.encoder);
+            writer(schema).write(record, context.encoder);
+            context.encoder.flush();
+            return buffer;
         } catch (IOException e) {
             throw new AvroConversionException("Failed to convert to AVRO.", e);
         }
     }
 
+    private GenericDatumWriter<Object> writer(Schema schema) {
+        return writers.get(schema, GenericDatumWriter::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends SpecificRecord> SpecificRecordFactory<T> specificRecordFactory(Class<T> clazz) {
+        return (SpecificRecordFactory<T>) specificRecordFactories.get(clazz, c -> new SpecificRecordFactory<>(clazz));
+    }
+
+    private EncodingContext acquireEncodingContext() {
+        EncodingContext context = encodingContexts.get();
+        if (context.inUse) {
+            // a conversion started from a custom converter or listener of the conversion running on this thread
+            context = new EncodingContext();
+        }
+        context.inUse = true;
+        return context;
+    }
+
+    public GenericData.Record convertToGenericDataRecord(byte[] data, Schema schema) {
+        if (metrics == ConversionMetrics.NONE) {
+            return recordReader.read(data, schema);
+        }
+        long start = System.nanoTime();
+        try {
+            GenericData.Record record = recordReader.read(data, schema);
+            metrics.onConversion(schema, JSON_TO_AVRO, data.length, 0, System.nanoTime() - start);
+            return record;
+        } catch (RuntimeException e) {
+            metrics.onFailure(schema, JSON_TO_AVRO, e);
+            throw e;
+        }
+    }
+
+    /**
+     * validates the json document against the schema without encoding it nor building a record. The document is
+     * walked once with a streaming parser along the conversion plan of the schema, as
+     * {@link #convertToAvro(byte[], Schema)} does, collecting the violations found with their paths, up to
+     * {@link #DEFAULT_MAX_VIOLATIONS}. Only documents which cannot be streamed are converted to a record to find them.
+     * <p>
+     * Unknown fields are not reported to the {@link UnknownFieldListener} of the reader, except by readers which
+     * customize the reading of records, so a listener failing on unknown fields does not make a document invalid.
+     * The validation is measured by the {@link ConversionMetrics} as a conversion to avro without output, an invalid
+     * document counting as a failure.
+     *
+     * @return the result of the validation, without violations if the document can be converted
+     */
+    public ValidationResult validate(byte[] data, Schema schema) {
+        if (metrics == ConversionMetrics.NONE) {
+            return validateUnmeasured(data, schema);
+        }
+        long start = System.nanoTime();
+        ValidationResult result;
+        try {
+            result = validateUnmeasured(data, schema);
+        } catch (RuntimeException e) {
+            metrics.onFailure(schema, JSON_TO_AVRO, e);
+            throw e;
+        }
+        if (result.isValid()) {
+            // nothing is output, as for the conversion to a record
+            metrics.onConversion(schema, JSON_TO_AVRO, data.length, 0, System.nanoTime() - start);
+        } else {
+            Violation first = result.getViolations().get(0);
+            metrics.onFailure(schema, JSON_TO_AVRO,
+                    new AvroConversionException("Failed to convert JSON to Avro: " + first, first.getCause()));
+        }
+        return result;
+    }
+
+    private ValidationResult validateUnmeasured(byte[] data, Schema schema) {
+        List<Violation> violations;
+        try {
+            violations = recordReader.validate(data, schema, DEFAULT_MAX_VIOLATIONS);
+        } catch (AvroConversionException e) {
+            return new ValidationResult(Collections.singletonList(Violation.of(e)));
+        }
+        if (violations == null) {
+            violations = recordReader.readCollectingViolations(data, schema, DEFAULT_MAX_VIOLATIONS, false).getViolations();
+        }
+        return violations.isEmpty() ? ValidationResult.VALID : new ValidationResult(violations);
+    }
+
+    public ValidationResult validate(byte[] data, String schema) {
+        return validate(data, schemaCache.parse(schema));
+    }
+
+    /**
+     * converts the json document to a record going on past the values which do not match the schema, to report all
+     * of them at once. Fields of records with violations are left null in the partial record, the conversion stops
+     * once the maximum number of violations is reached.
+     * <p>
+     * Values inside unions are not reported one by one: a union value with a violation does not match its branch,
+     * so the union is reported as a whole. Violations are collected only with {@link CompositeJsonToAvroReader},
+     * other readers fail on the first one.
+     *
+     * @param maxViolations the maximum number of violations to report
+     *
+     * @return the record, partial if violations were found, with the violations
+     */
+    public ConversionResult convertCollectingViolations(byte[] data, Schema schema, int maxViolations) {
+        return recordReader.readCollectingViolations(data, schema, maxViolations);
+    }
+
+    public ConversionResult convertCollectingViolations(byte[] data, Schema schema) {
+        return convertCollectingViolations(data, schema, DEFAULT_MAX_VIOLATIONS);
+    }
+
+    /**
+     * converts the json documents to records of the same schema
+     */
+    public List<GenericData.Record> convertToGenericDataRecords(Iterable<byte[]> jsonDocuments, Schema schema) {
+        List<GenericData.Record> records = new ArrayList<>();
+        long index = 0;
+        for (byte[] document : jsonDocuments) {
+            try {
+                records.add(convertToGenericDataRecord(document, schema));
+            } catch (AvroConversionException e) {
+                throw batchException(index, e);
+            }
+            index++;
+        }
+        return records;
+    }
+
+    /**
+     * converts the json documents to an avro object container file, without compression
+     *
+     * @return the number of records written
+     */
+    public long convertToAvroFile(Iterable<byte[]> jsonDocuments, Schema schema, OutputStream outputStream) {
+        return convertToAvroFile(jsonDocuments, schema, outputStream, CodecFactory.nullCodec(), DataFileConstants.DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * converts the json documents to an avro object container file written to the output stream,
+     * which is left open
+     *
+     * @param codec the compression codec of the file blocks
+     * @param syncInterval the approximate size in bytes of the file blocks
+     *
+     * @return the number of records written
+     */
+    public long convertToAvroFile(Iterable<byte[]> jsonDocuments, Schema schema, OutputStream outputStream,
+                                  CodecFactory codec, int syncInterval) {
+        return writeAvroFile(jsonDocuments.iterator(), schema, outputStream, codec, syncInterval);
+    }
+
+    /**
+     * converts newline delimited json documents to an avro object container file, without compression
+     *
+     * @return the number of records written
+     */
+    public long convertNdjsonToAvroFile(InputStream ndjson, Schema schema, OutputStream outputStream) {
+        return convertNdjsonToAvroFile(ndjson, schema, outputStream, CodecFactory.nullCodec(), DataFileConstants.DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * converts newline delimited json documents to an avro object container file written to the output stream.
+     * Blank lines are skipped, both streams are left open.
+     *
+     * @param codec the compression codec of the file blocks
+     * @param syncInterval the approximate size in bytes of the file blocks
+     *
+     * @return the number of records written
+     */
+    public long convertNdjsonToAvroFile(InputStream ndjson, Schema schema, OutputStream outputStream,
+                                        CodecFactory codec, int syncInterval) {
+        return writeAvroFile(new JsonLines(ndjson), schema, outputStream, codec, syncInterval);
+    }
+
+    private long writeAvroFile(Iterator<byte[]> jsonDocuments, Schema schema, OutputStream outputStream,
+                               CodecFactory codec, int syncInterval) {
+        EncodingContext context = acquireEncodingContext();
+        long index = 0;
+        try (DataFileWriter<Object> fileWriter = new DataFileWriter<>(writer(schema))) {
+            fileWriter.setCodec(codec);
+            fileWriter.setSyncInterval(syncInterval);
+            fileWriter.create(schema, new NonClosingOutputStream(outputStream));
+            while (jsonDocuments.hasNext()) {
+                AvroBinaryBuffer buffer;
+                try {
+                    buffer = encode(jsonDocuments.next(), schema, context);
+                } catch (AvroConversionException e) {
+                    throw batchException(index, e);
+                }
+                fileWriter.appendEncoded(buffer.asByteBuffer());
+                buffer.truncate(0);
+                index++;
+            }
+        } catch (IOException e) {
+            throw new AvroConversionException("Failed to write AVRO file.", e);
+        } finally {
+            context.release();
+        }
+        return index;
+    }
+
+    private static AvroConversionException batchException(long index, AvroConversionException cause) {
+        return new AvroConversionException("Failed to convert json document " + index + " of the batch: " + cause.getMessage(), cause);
+    }
+
+    public <T extends SpecificRecordBase & SpecificRecord> T convertToSpecificRecord(byte[] jsonData, Class<T> clazz, Schema schema) {
+        SpecificRecordFactory<T> factory = specificRecordFactory(clazz);
+        if (factory.canCopy(schema)) {
+            return factory.copy(convertToGenericDataRecord(jsonData, schema));
+        }
+        return factory.read(convertToAvro(jsonData, schema), schema);
+    }
+
     public <T extends SpecificRecordBase & SpecificRecord> T convertToSpecificRecord(byte[] data, Class<T> clazz, String schema) {
-        return convertToSpecificRecord(data, clazz, new Schema.Parser().parse(schema));
+        return convertToSpecificRecord(data, clazz, schemaCache.parse(schema));
     }
 
+    /**
+     * @return the cache of schemas given as strings
+     */
+    public SchemaCache getSchemaCache() {
+        return schemaCache;
+    }
+
+
+    /**
+     * Buffer and encoder reused by the conversions done on a thread.
+     */
+    private static final class EncodingContext {
+        private AvroBinaryBuffer buffer = new AvroBinaryBuffer();
+        private BinaryEncoder encoder;
+        private boolean inUse;
+
+        void release() {
+            if (buffer.capacity() > MAX_REUSED_BUFFER_SIZE) {
+                buffer = new AvroBinaryBuffer();
+            } else {
+                buffer.truncate(0);
+            }
+            inUse = false;
+        }
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
 }
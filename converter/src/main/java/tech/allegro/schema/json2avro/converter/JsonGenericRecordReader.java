@@ -8,11 +8,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 public class JsonGenericRecordReader {
     private final ObjectMapper mapper;
     private final JsonToAvroReader jsonToAvroReader;
+    private final boolean usesPlans;
+    private final StreamingJsonToAvroWriter streamingWriter;
 
     public JsonGenericRecordReader() {
         this(new ObjectMapper());
@@ -33,6 +36,9 @@ public class JsonGenericRecordReader {
     public JsonGenericRecordReader(ObjectMapper mapper, JsonToAvroReader jsonToAvroReader) {
         this.mapper = mapper;
         this.jsonToAvroReader = jsonToAvroReader;
+        this.usesPlans = jsonToAvroReader instanceof CompositeJsonToAvroReader
+                && ((CompositeJsonToAvroReader) jsonToAvroReader).usesPlans();
+        this.streamingWriter = usesPlans ? new StreamingJsonToAvroWriter(mapper) : null;
     }
 
     @SuppressWarnings("unchecked")
@@ -53,5 +59,88 @@ public class JsonGenericRecordReader {
             throw new AvroConversionException("Failed to convert JSON to Avro", ex);
         }
     }
-}
 
+    /**
+     * converts the json document going on past the fields which do not match the schema, only with
+     * {@link CompositeJsonToAvroReader} not customizing the reading of records, fails on the first violation otherwise
+     *
+     * @param maxViolations the number of violations after which the conversion stops
+     */
+    public ConversionResult readCollectingViolations(byte[] data, Schema schema, int maxViolations) {
+        return readCollectingViolations(data, schema, maxViolations, true);
+    }
+
+    /**
+     * @param reportingUnknownFields false not to call the {@link UnknownFieldListener}, which readers not using plans
+     *                               always call
+     */
+    @SuppressWarnings("unchecked")
+    ConversionResult readCollectingViolations(byte[] data, Schema schema, int maxViolations, boolean reportingUnknownFields) {
+        ViolationCollector violations = new ViolationCollector(maxViolations);
+        try {
+            Map<String, Object> json;
+            try {
+                json = mapper.readValue(data, Map.class);
+            } catch (IOException ex) {
+                throw new AvroConversionException("Failed to parse json to map format.", ex);
+            }
+            GenericData.Record record = usesPlans
+                    ? readCollectingViolations(json, schema, new ConversionContext(violations, reportingUnknownFields))
+                    : read(json, schema);
+            return new ConversionResult(record, violations.getViolations());
+        } catch (AvroConversionException ex) {
+            if (!violations.isFull()) {
+                violations.add(Violation.of(ex));
+            }
+            return new ConversionResult(null, violations.getViolations());
+        }
+    }
+
+    private GenericData.Record readCollectingViolations(Map<String, Object> json, Schema schema, ConversionContext context) {
+        try {
+            return ((CompositeJsonToAvroReader) jsonToAvroReader).read(json, schema, context);
+        } catch (AvroTypeException ex) {
+            throw new AvroConversionException("Failed to convert JSON to Avro: " + ex.getMessage(), ex);
+        } catch (AvroRuntimeException ex) {
+            throw new AvroConversionException("Failed to convert JSON to Avro", ex);
+        }
+    }
+
+    /**
+     * validates the json document without encoding it nor building a record, the unknown fields are not reported to
+     * the {@link UnknownFieldListener}
+     *
+     * @return the violations found, or {@code null} if the document has to be validated with
+     * {@link #readCollectingViolations(byte[], Schema, int, boolean)} instead
+     */
+    List<Violation> validate(byte[] data, Schema schema, int maxViolations) {
+        if (streamingWriter == null) {
+            return null;
+        }
+        try {
+            return streamingWriter.validate(data, ((CompositeJsonToAvroReader) jsonToAvroReader).getPlan(schema), maxViolations);
+        } catch (AvroTypeException ex) {
+            throw new AvroConversionException("Failed to convert JSON to Avro: " + ex.getMessage(), ex);
+        } catch (AvroRuntimeException ex) {
+            throw new AvroConversionException("Failed to convert JSON to Avro", ex);
+        }
+    }
+
+    /**
+     * writes the json document as binary avro without building a record
+     *
+     * @return false if the document has to be converted with {@link #read(byte[], Schema)} instead
+     */
+    boolean write(byte[] data, Schema schema, AvroBinaryBuffer out) {
+        if (streamingWriter == null) {
+            return false;
+        }
+        try {
+            return streamingWriter.write(data, ((CompositeJsonToAvroReader) jsonToAvroReader).getPlan(schema), out);
+        } catch (AvroTypeException ex) {
+            throw new AvroConversionException("Failed to convert JSON to Avro: " + ex.getMessage(), ex);
+        } catch (AvroRuntimeException ex) {
+            throw new AvroConversionException("Failed to convert JSON to Avro", ex);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package tech.allegro.schema.json2avro.converter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the documents of newline delimited json, read from a stream in chunks. Blank lines are skipped, but
+ * counted in line numbers. Leading and trailing whitespace of each line is trimmed.
+ * <p>
+ * Failures to read the stream are thrown as {@link AvroConversionException}. Instances are not thread safe.
+ */
+public final class JsonLines implements Iterator<byte[]> {
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+    private byte[] buffer = new byte[CHUNK_SIZE];
+    private int start;
+    private int end;
+    private boolean endOfStream;
+    private byte[] next;
+    private long lineNumber;
+    private long nextLineNumber;
+
+    public JsonLines(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readLine();
+        }
+        return next != null;
+    }
+
+    @Override
+    public byte[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        byte[] line = next;
+        next = null;
+        lineNumber = nextLineNumber;
+        return line;
+    }
+
+    /**
+     * @return number of the line last returned by {@link #next()}, starting from one, or zero if none was returned
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    private byte[] readLine() {
+        int scanned = start;
+        while (true) {
+            for (int i = scanned; i < end; i++) {
+                if (buffer[i] == '\n') {
+                    nextLineNumber++;
+                    byte[] line = line(start, i);
+                    start = i + 1;
+                    if (line != null) {
+                        return line;
+                    }
+                }
+            }
+            if (endOfStream) {
+                if (start < end) {
+                    nextLineNumber++;
+                }
+                byte[] line = line(start, end);
+                start = end;
+                return line;
+            }
+            scanned = end - start;
+            fill();
+            scanned = start + scanned;
+        }
+    }
+
+    // null for blank lines
+    private byte[] line(int from, int to) {
+        int lineEnd = to;
+        while (lineEnd > from && isWhitespace(buffer[lineEnd - 1])) {
+            lineEnd--;
+        }
+        int lineStart = from;
+        while (lineStart < lineEnd && isWhitespace(buffer[lineStart])) {
+            lineStart++;
+        }
+        return lineStart == lineEnd ? null : Arrays.copyOfRange(buffer, lineStart, lineEnd);
+    }
+
+    private void fill() {
+        if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, end - start);
+            end -= start;
+            start = 0;
+        }
+        if (end == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        try {
+            int read = inputStream.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                endOfStream = true;
+            } else {
+                end += read;
+            }
+        } catch (IOException e) {
+            throw new AvroConversionException("Failed to read newline delimited json.", e);
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
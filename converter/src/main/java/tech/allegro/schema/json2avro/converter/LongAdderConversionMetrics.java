@@ -0,0 +1,183 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.Schema;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps counters and latency histograms of the conversions of each schema in memory.
+ * <p>
+ * Counters are {@link LongAdder}s, so threads converting concurrently do not contend on them. Reading them is not
+ * atomic, a snapshot taken during conversions may count a conversion in one counter and not yet in another.
+ */
+public class LongAdderConversionMetrics implements ConversionMetrics {
+    /**
+     * number of latency buckets, the last one counts conversions taking 2^29 nanoseconds (about half a second) or
+     * longer
+     */
+    public static final int LATENCY_BUCKETS = 31;
+
+    private final Map<Direction, Map<Schema, SchemaMetrics>> metrics = new EnumMap<>(Direction.class);
+
+    public LongAdderConversionMetrics() {
+        for (Direction direction : Direction.values()) {
+            metrics.put(direction, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void onConversion(Schema schema, Direction direction, int inputBytes, int outputBytes, long nanos) {
+        SchemaMetrics schemaMetrics = of(schema, direction);
+        schemaMetrics.conversions.increment();
+        schemaMetrics.inputBytes.add(inputBytes);
+        schemaMetrics.outputBytes.add(outputBytes);
+        schemaMetrics.nanos.add(nanos);
+        schemaMetrics.latencies[latencyBucket(nanos)].increment();
+    }
+
+    @Override
+    public void onFailure(Schema schema, Direction direction, RuntimeException exception) {
+        Throwable cause = exception.getCause() != null ? exception.getCause() : exception;
+        of(schema, direction).failures.computeIfAbsent(cause.getClass().getName(), name -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void onUnions(Schema schema, int unions, int branchesTried) {
+        SchemaMetrics schemaMetrics = of(schema, Direction.JSON_TO_AVRO);
+        schemaMetrics.unions.add(unions);
+        schemaMetrics.unionBranchesTried.add(branchesTried);
+    }
+
+    @Override
+    public void onUnknownField(Schema schema, String name) {
+        of(schema, Direction.JSON_TO_AVRO).unknownFields.increment();
+    }
+
+    /**
+     * @return the metrics of the schema converted in the direction, {@code null} if nothing was measured yet
+     */
+    public SchemaMetrics get(Schema schema, Direction direction) {
+        return metrics.get(direction).get(schema);
+    }
+
+    /**
+     * @return a view of the metrics of all the schemas converted in the direction
+     */
+    public Map<Schema, SchemaMetrics> getAll(Direction direction) {
+        return Collections.unmodifiableMap(metrics.get(direction));
+    }
+
+    public void clear() {
+        metrics.values().forEach(Map::clear);
+    }
+
+    private SchemaMetrics of(Schema schema, Direction direction) {
+        Map<Schema, SchemaMetrics> schemas = metrics.get(direction);
+        SchemaMetrics schemaMetrics = schemas.get(schema);
+        if (schemaMetrics == null) {
+            schemaMetrics = schemas.computeIfAbsent(schema, s -> new SchemaMetrics());
+        }
+        return schemaMetrics;
+    }
+
+    /**
+     * @return the index of the smallest power of two of nanoseconds greater than the latency, capped to the last
+     * bucket
+     */
+    static int latencyBucket(long nanos) {
+        return nanos <= 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(nanos), LATENCY_BUCKETS - 1);
+    }
+
+    /**
+     * Counters of the conversions of one schema in one direction.
+     */
+    public static final class SchemaMetrics {
+        private final LongAdder conversions = new LongAdder();
+        private final LongAdder inputBytes = new LongAdder();
+        private final LongAdder outputBytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder[] latencies = new LongAdder[LATENCY_BUCKETS];
+        private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        private final LongAdder unions = new LongAdder();
+        private final LongAdder unionBranchesTried = new LongAdder();
+        private final LongAdder unknownFields = new LongAdder();
+
+        SchemaMetrics() {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * @return the number of successful conversions
+         */
+        public long getConversionCount() {
+            return conversions.sum();
+        }
+
+        public long getInputBytes() {
+            return inputBytes.sum();
+        }
+
+        public long getOutputBytes() {
+            return outputBytes.sum();
+        }
+
+        /**
+         * @return the total time of the successful conversions
+         */
+        public long getTotalNanos() {
+            return nanos.sum();
+        }
+
+        /**
+         * @return the number of successful conversions per latency bucket, bucket {@code i} counts the conversions
+         * taking less than 2^i and at least 2^(i-1) nanoseconds
+         */
+        public long[] getLatencyHistogram() {
+            long[] histogram = new long[latencies.length];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = latencies[i].sum();
+            }
+            return histogram;
+        }
+
+        /**
+         * @return the number of failed conversions
+         */
+        public long getFailureCount() {
+            long count = 0;
+            for (LongAdder failure : failures.values()) {
+                count += failure.sum();
+            }
+            return count;
+        }
+
+        /**
+         * @return the number of failed conversions by class name of the cause of the exception thrown, or of the
+         * exception itself if it has no cause
+         */
+        public Map<String, Long> getFailureCauses() {
+            Map<String, Long> causes = new LinkedHashMap<>();
+            failures.forEach((cause, count) -> causes.put(cause, count.sum()));
+            return causes;
+        }
+
+        public long getUnionCount() {
+            return unions.sum();
+        }
+
+        public long getUnionBranchesTried() {
+            return unionBranchesTried.sum();
+        }
+
+        public long getUnknownFieldCount() {
+            return unknownFields.sum();
+        }
+    }
+}
@@ -2,12 +2,22 @@ package tech.allegro.schema.json2avro.converter;
 
 import java.util.Deque;
 
-import static java.util.stream.Collectors.joining;
-
 public class PathsPrinter {
 
     public static String print(Deque<String> path) {
-        return path.stream().collect(joining("."));
+        if (path.size() == 1) {
+            return path.getFirst();
+        }
+        StringBuilder builder = new StringBuilder();
+        boolean first = true;
+        for (String segment : path) {
+            if (!first) {
+                builder.append('.');
+            }
+            builder.append(segment);
+            first = false;
+        }
+        return builder.toString();
     }
 
     public static String print(Deque<String> path, String additionalSegment) {
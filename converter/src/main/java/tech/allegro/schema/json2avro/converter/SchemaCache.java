@@ -0,0 +1,59 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.Schema;
+
+/**
+ * Bounded cache of schemas parsed from their json text, used by the converter methods taking the schema as a string.
+ * <p>
+ * Schemas are evicted in least recently used order once the maximum size is exceeded. Reusing the parsed instance
+ * also lets the per-schema conversion plans be found by reference.
+ * <p>
+ * The cache is safe to share between threads and finding a cached schema takes no lock, only misses are serialized to evict one schema at
+ * a time.
+ */
+public class SchemaCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 128;
+
+    private final BoundedCache<String, Schema> schemas;
+
+    public SchemaCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public SchemaCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size of the schema cache must be positive, got " + maximumSize);
+        }
+        this.schemas = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * @param schema json text of the schema
+     * @return the cached schema, parsed if it is not cached yet
+     * @throws org.apache.avro.SchemaParseException if the schema is invalid, invalid schemas are not cached
+     */
+    public Schema parse(String schema) {
+        // parsing is done outside of the lock, a schema parsed concurrently twice keeps the first instance
+        return schemas.get(schema, text -> new Schema.Parser().parse(text));
+    }
+
+    public long getHitCount() {
+        return schemas.getHitCount();
+    }
+
+    public long getMissCount() {
+        return schemas.getMissCount();
+    }
+
+    public int getMaximumSize() {
+        return schemas.getMaximumSize();
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+
+    public void clear() {
+        schemas.clear();
+    }
+}
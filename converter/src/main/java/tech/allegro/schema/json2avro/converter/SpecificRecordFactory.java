@@ -0,0 +1,142 @@
+package tech.allegro.schema.json2avro.converter;
+
+import org.apache.avro.Conversion;
+import org.apache.avro.Conversions;
+import org.apache.avro.LogicalType;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificData;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificRecord;
+import org.apache.avro.util.Utf8;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates instances of a generated class from records converted with the same schema.
+ * <p>
+ * Records are copied field by field with the {@link SpecificData} of the class, applying its logical type conversions,
+ * which gives the same instance as encoding the record and decoding it with a {@link SpecificDatumReader}.
+ * Records of a schema with a different layout than the one of the class are decoded with a reader cached per class.
+ */
+final class SpecificRecordFactory<T extends SpecificRecord> {
+    private final Class<T> clazz;
+    private final SpecificData model;
+    private final Schema classSchema;
+    private final long classFingerprint;
+    private final SpecificDatumReader<T> reader;
+    private final Map<Schema, Boolean> copyableSchemas = new ConcurrentHashMap<>();
+
+    SpecificRecordFactory(Class<T> clazz) {
+        this.clazz = clazz;
+        this.model = SpecificData.getForClass(clazz);
+        this.classSchema = model.getSchema(clazz);
+        this.classFingerprint = SchemaNormalization.parsingFingerprint64(classSchema);
+        this.reader = new SpecificDatumReader<>(clazz);
+    }
+
+    /**
+     * @return true if records of the schema can be copied to the generated class
+     */
+    boolean canCopy(Schema schema) {
+        if (schema == classSchema) {
+            return true;
+        }
+        Boolean copyable = copyableSchemas.get(schema);
+        if (copyable == null) {
+            copyable = copyableSchemas.computeIfAbsent(schema,
+                    s -> model.getClass(classSchema) == clazz && SchemaNormalization.parsingFingerprint64(s) == classFingerprint);
+        }
+        return copyable;
+    }
+
+    T copy(GenericData.Record record) {
+        return clazz.cast(copy(classSchema, record));
+    }
+
+    T read(byte[] avro, Schema schema) {
+        try {
+            Decoder binaryDecoder = DecoderFactory.get().binaryDecoder(avro, null);
+            Decoder decoder = DecoderFactory.get().validatingDecoder(schema, binaryDecoder);
+            return reader.read(null, decoder);
+        } catch (IOException e) {
+            throw new AvroConversionException("Failed to convert to AVRO.", e);
+        }
+    }
+
+    private Object copy(Schema schema, Object value) {
+        if (value == null) {
+            return null;
+        }
+        Object raw = copyRaw(schema, value);
+        LogicalType logicalType = schema.getLogicalType();
+        if (logicalType != null) {
+            Conversion<?> conversion = model.getConversionFor(logicalType);
+            if (conversion != null) {
+                return Conversions.convertToLogicalType(raw, schema, logicalType, conversion);
+            }
+        }
+        return raw;
+    }
+
+    private Object copyRaw(Schema schema, Object value) {
+        switch (schema.getType()) {
+            case RECORD:
+                IndexedRecord source = (IndexedRecord) value;
+                Object record = model.newRecord(null, schema);
+                for (Schema.Field field : schema.getFields()) {
+                    model.setField(record, field.name(), field.pos(), copy(field.schema(), source.get(field.pos())));
+                }
+                return record;
+            case ENUM:
+                return model.createEnum(value.toString(), schema);
+            case ARRAY:
+                Collection<?> elements = (Collection<?>) value;
+                GenericData.Array<Object> array = new GenericData.Array<>(elements.size(), schema);
+                for (Object element : elements) {
+                    array.add(copy(schema.getElementType(), element));
+                }
+                return array;
+            case MAP:
+                Map<?, ?> entries = (Map<?, ?>) value;
+                Map<Object, Object> map = new HashMap<>(entries.size() * 4 / 3 + 1);
+                entries.forEach((key, entryValue) -> map.put(string(schema, key), copy(schema.getValueType(), entryValue)));
+                return map;
+            case UNION:
+                // the branch is resolved the way GenericDatumWriter does
+                Schema branch = schema.getTypes().get(GenericData.get().resolveUnion(schema, value));
+                return copy(branch, value);
+            case FIXED:
+                return model.createFixed(null, ((GenericFixed) value).bytes(), schema);
+            case STRING:
+                return string(schema, value);
+            case INT:
+                return ((Number) value).intValue();
+            case LONG:
+                return ((Number) value).longValue();
+            case FLOAT:
+                return ((Number) value).floatValue();
+            case DOUBLE:
+                return ((Number) value).doubleValue();
+            default:
+                return value;
+        }
+    }
+
+    // strings are decoded as java.lang.String only for schemas marked with avro.java.string
+    private static Object string(Schema schema, Object value) {
+        if ("String".equals(schema.getProp(GenericData.STRING_PROP))) {
+            return value.toString();
+        }
+        return value instanceof Utf8 ? value : new Utf8(value.toString());
+    }
+}
@@ -0,0 +1,808 @@
+package tech.allegro.schema.json2avro.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import tech.allegro.schema.json2avro.converter.types.ArrayConverter;
+import tech.allegro.schema.json2avro.converter.types.AvroTypeConverter;
+import tech.allegro.schema.json2avro.converter.types.BytesDecimalConverter;
+import tech.allegro.schema.json2avro.converter.types.EnumConverter;
+import tech.allegro.schema.json2avro.converter.types.IntDateConverter;
+import tech.allegro.schema.json2avro.converter.types.IntTimeMillisConverter;
+import tech.allegro.schema.json2avro.converter.types.LongTimeMicrosConverter;
+import tech.allegro.schema.json2avro.converter.types.LongTimestampMicrosConverter;
+import tech.allegro.schema.json2avro.converter.types.LongTimestampMillisConverter;
+import tech.allegro.schema.json2avro.converter.types.MapConverter;
+import tech.allegro.schema.json2avro.converter.types.NullConverter;
+import tech.allegro.schema.json2avro.converter.types.PrimitiveConverter;
+import tech.allegro.schema.json2avro.converter.types.RecordConverter;
+import tech.allegro.schema.json2avro.converter.types.StrictNumberConverter;
+import tech.allegro.schema.json2avro.converter.types.TypeMismatchException;
+import tech.allegro.schema.json2avro.converter.types.UnionConverter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Converts json documents to binary avro pulling tokens from a Jackson {@link JsonParser} along a
+ * {@link ConversionPlan}, without building a map of the document nor a record.
+ * <p>
+ * Only fields written out of schema order are buffered. Plans with custom converters, values which do not match
+ * the schema and documents that cannot be streamed with the exact result of the record based conversion
+ * (e.g. duplicated fields) are rejected, in which case the document has to be converted through
+ * {@link JsonGenericRecordReader}, which also reports the conversion errors.
+ * <p>
+ * Documents are validated by the same walk writing to {@link AvroBinaryBuffer#DISCARDING}. A value which does not
+ * match the schema is converted alone along its plan node, which throws the violation the record based conversion
+ * would collect, and the walk goes on with the next field, as the record conversion leaves the field null.
+ */
+final class StreamingJsonToAvroWriter {
+    private static final Set<Class<?>> SCALAR_CONVERTERS = Set.of(
+            BytesDecimalConverter.class,
+            IntDateConverter.class,
+            IntTimeMillisConverter.class,
+            LongTimeMicrosConverter.class,
+            LongTimestampMillisConverter.class,
+            LongTimestampMicrosConverter.class);
+
+    private static final StreamingAbort MISMATCH = new StreamingAbort("Value does not match the schema.");
+    private static final StreamingAbort UNSUPPORTED = new StreamingAbort("Value cannot be streamed.");
+    private static final StreamingAbort VIOLATION = new StreamingAbort("Value does not match the schema, violation collected.");
+    private static final StreamingAbort FULL = new StreamingAbort("Maximum number of violations reached.");
+
+    private final ObjectMapper mapper;
+
+    StreamingJsonToAvroWriter(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * writes the json document as binary avro
+     *
+     * @param data the json document
+     * @param plan the plan of the record schema
+     * @param out the buffer to write to, left unchanged if the document cannot be streamed
+     *
+     * @return false if the document has to be converted through a record
+     */
+    boolean write(byte[] data, ConversionPlan plan, AvroBinaryBuffer out) {
+        if (mapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+            return false;
+        }
+        int start = out.position();
+        Session session;
+        try (JsonParser parser = mapper.createParser(data)) {
+            session = new Session(parser, out, null);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw UNSUPPORTED;
+            }
+            session.writeValue(plan);
+            if (parser.nextToken() != null) {
+                throw UNSUPPORTED;
+            }
+        } catch (IOException | RuntimeException e) {
+            out.truncate(start);
+            return false;
+        }
+        session.report(plan);
+        return true;
+    }
+
+    /**
+     * validates the json document without encoding it, the unknown fields are not reported to the listener
+     *
+     * @param data the json document
+     * @param plan the plan of the record schema
+     * @param maxViolations the number of violations after which the validation stops
+     *
+     * @return the violations found, or {@code null} if the document has to be validated through a record
+     */
+    List<Violation> validate(byte[] data, ConversionPlan plan, int maxViolations) {
+        if (mapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+            return null;
+        }
+        ViolationCollector violations = new ViolationCollector(maxViolations);
+        Session session;
+        try (JsonParser parser = mapper.createParser(data)) {
+            session = new Session(parser, AvroBinaryBuffer.DISCARDING, violations);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw UNSUPPORTED;
+            }
+            try {
+                session.writeValue(plan);
+            } catch (StreamingAbort e) {
+                if (e != FULL) {
+                    throw e;
+                }
+                // the rest of the document is still parsed, malformed json is reported by the record conversion
+                while (parser.nextToken() != null) {
+                    parser.skipChildren();
+                }
+                return violations.getViolations();
+            }
+            if (parser.nextToken() != null) {
+                throw UNSUPPORTED;
+            }
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        session.report(plan);
+        return violations.getViolations();
+    }
+
+    private final class Session {
+        private final AvroBinaryBuffer out;
+        private final ViolationCollector violations;
+        private final ConversionContext context = new ConversionContext();
+        private JsonParser parser;
+        private int unionDepth;
+        private int unions;
+        private int unionBranchesTried;
+        private List<UnknownField> unknownFields;
+
+        /**
+         * @param violations where the violations are collected when validating, {@code null} when writing
+         */
+        Session(JsonParser parser, AvroBinaryBuffer out, ViolationCollector violations) {
+            this.parser = parser;
+            this.out = out;
+            this.violations = violations;
+        }
+
+        void writeValue(ConversionPlan plan) throws IOException {
+            AvroTypeConverter converter = plan.getConverter();
+            JsonToken token = parser.currentToken();
+            if (converter == PrimitiveConverter.STRING || converter == PrimitiveConverter.BYTES) {
+                expectValue(token == JsonToken.VALUE_STRING, plan);
+                out.writeString(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            } else if (converter == PrimitiveConverter.INT) {
+                expectValue(token.isNumeric(), plan);
+                out.writeInt(intValue());
+            } else if (converter == PrimitiveConverter.LONG) {
+                expectValue(token.isNumeric(), plan);
+                out.writeLong(longValue());
+            } else if (converter == PrimitiveConverter.FLOAT) {
+                expectValue(token.isNumeric(), plan);
+                out.writeFloat(floatValue());
+            } else if (converter == PrimitiveConverter.DOUBLE) {
+                expectValue(token.isNumeric(), plan);
+                out.writeDouble(doubleValue());
+            } else if (converter == StrictNumberConverter.INT) {
+                expectValue(token.isNumeric() && fitsInt(), plan);
+                out.writeInt(intValue());
+            } else if (converter == StrictNumberConverter.LONG) {
+                expectValue(token.isNumeric() && fitsLong(), plan);
+                out.writeLong(longValue());
+            } else if (converter == StrictNumberConverter.FLOAT) {
+                expectValue(token.isNumeric() && fitsFloat(), plan);
+                out.writeFloat(floatValue());
+            } else if (converter == StrictNumberConverter.DOUBLE) {
+                expectValue(token.isNumeric() && fitsDouble(), plan);
+                out.writeDouble(doubleValue());
+            } else if (converter == PrimitiveConverter.BOOLEAN) {
+                expectValue(token.isBoolean(), plan);
+                out.writeBoolean(token == JsonToken.VALUE_TRUE);
+            } else if (converter == EnumConverter.INSTANCE) {
+                expectValue(token == JsonToken.VALUE_STRING, plan);
+                int ordinal = EnumConverter.ordinalOf(plan, parser.getText());
+                expectValue(ordinal >= 0, plan);
+                out.writeInt(ordinal);
+            } else if (converter == NullConverter.INSTANCE) {
+                expectValue(token == JsonToken.VALUE_NULL, plan);
+            } else if (is(converter, RecordConverter.class)) {
+                writeRecord(plan);
+            } else if (is(converter, ArrayConverter.class)) {
+                writeArray(plan);
+            } else if (is(converter, MapConverter.class)) {
+                writeMap(plan);
+            } else if (is(converter, UnionConverter.class)) {
+                writeUnion(plan);
+            } else if (converter != null && SCALAR_CONVERTERS.contains(converter.getClass())) {
+                Object result = converter.convert(plan, scalarValue(plan), context, true);
+                expectValue(!(result instanceof AvroTypeConverter.Incompatible), plan);
+                writeDatum(plan.getSchema(), result);
+            } else {
+                throw UNSUPPORTED;
+            }
+        }
+
+        private void writeRecord(ConversionPlan plan) throws IOException {
+            expectValue(parser.currentToken() == JsonToken.START_OBJECT, plan);
+            Schema schema = plan.getSchema();
+            if (schema.getType() != Schema.Type.RECORD) {
+                throw UNSUPPORTED;
+            }
+            UnknownFieldListener listener = ((RecordConverter) plan.getConverter()).getUnknownFieldListener();
+            List<Schema.Field> fields = schema.getFields();
+            int next = 0;
+            int unorderedStart = -1;
+            int[] segments = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = parser.currentName();
+                parser.nextToken();
+                Schema.Field field = schema.getField(key);
+                if (field == null) {
+                    skipUnknownField(plan, listener, key);
+                    continue;
+                }
+                int pos = field.pos();
+                if (pos < next || (segments != null && segments[2 * pos] >= 0)) {
+                    throw UNSUPPORTED;
+                }
+                if (segments == null && pos != next) {
+                    segments = new int[2 * fields.size()];
+                    Arrays.fill(segments, -1);
+                    unorderedStart = out.position();
+                }
+                int start = out.position();
+                writeField(plan.getFieldPlan(field));
+                if (segments == null) {
+                    next++;
+                } else {
+                    segments[2 * pos] = start;
+                    segments[2 * pos + 1] = out.position();
+                }
+            }
+            if (segments == null) {
+                for (int pos = next; pos < fields.size(); pos++) {
+                    writeDefault(plan.getFieldPlan(fields.get(pos)));
+                }
+            } else {
+                byte[] unordered = out.copyFrom(unorderedStart);
+                out.truncate(unorderedStart);
+                for (int pos = next; pos < fields.size(); pos++) {
+                    int start = segments[2 * pos];
+                    if (start >= 0) {
+                        out.writeFixed(unordered, start - unorderedStart, segments[2 * pos + 1] - start);
+                    } else {
+                        writeDefault(plan.getFieldPlan(fields.get(pos)));
+                    }
+                }
+            }
+        }
+
+        private void writeField(ConversionPlan fieldPlan) throws IOException {
+            context.enter(fieldPlan);
+            try {
+                if (violations == null || unionDepth > 0) {
+                    writeValue(fieldPlan);
+                } else {
+                    validateField(fieldPlan);
+                }
+            } finally {
+                context.exit();
+            }
+        }
+
+        private void validateField(ConversionPlan fieldPlan) throws IOException {
+            JsonStreamContext fieldContext = parser.getParsingContext();
+            if (parser.currentToken().isStructStart()) {
+                fieldContext = fieldContext.getParent();
+            }
+            try {
+                writeValue(fieldPlan);
+            } catch (StreamingAbort e) {
+                if (e != VIOLATION) {
+                    throw e;
+                }
+                // the rest of the value is skipped, the record conversion does not convert the field further either
+                while (parser.getParsingContext() != fieldContext) {
+                    if (parser.nextToken().isStructStart()) {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+
+        private void writeDefault(ConversionPlan fieldPlan) {
+            byte[] defaultValue = fieldPlan.getEncodedDefault();
+            if (defaultValue == null) {
+                missingField(fieldPlan);
+                return;
+            }
+            out.writeFixed(defaultValue, 0, defaultValue.length);
+        }
+
+        private void missingField(ConversionPlan fieldPlan) {
+            if (violations == null || unionDepth > 0) {
+                throw MISMATCH;
+            }
+            if (!violations.collect(RecordConverter.missingFieldException(context.getPath(), fieldPlan.getField()))) {
+                throw FULL;
+            }
+        }
+
+        /**
+         * @return the abort to throw for the value the parser is on, which does not match the schema of the plan
+         */
+        private StreamingAbort mismatch(ConversionPlan plan) throws IOException {
+            if (violations == null || unionDepth > 0) {
+                return MISMATCH;
+            }
+            return violation(plan, mapper.readValue(parser, Object.class));
+        }
+
+        private StreamingAbort violation(ConversionPlan plan, Object value) {
+            try {
+                plan.getConverter().convert(plan, value, context, false);
+            } catch (TypeMismatchException e) {
+                return violations.collect(e) ? VIOLATION : FULL;
+            }
+            // the record conversion accepts the value, the walk does not follow it
+            return UNSUPPORTED;
+        }
+
+        private void expectValue(boolean condition, ConversionPlan plan) throws IOException {
+            if (!condition) {
+                throw mismatch(plan);
+            }
+        }
+
+        private void skipUnknownField(ConversionPlan plan, UnknownFieldListener listener, String key) throws IOException {
+            if (listener == null || violations != null) {
+                parser.skipChildren();
+                if (plan.getMetrics() != ConversionMetrics.NONE) {
+                    addUnknownField(new UnknownField(null, plan, null, key, null));
+                }
+                return;
+            }
+            if (unionDepth > 0) {
+                // a listener failing inside a union makes the union try its next branch
+                throw UNSUPPORTED;
+            }
+            Object value = mapper.readValue(parser, Object.class);
+            // the listener is called once the whole document is written, the path is printed from the plan then
+            addUnknownField(new UnknownField(listener, plan, context.capturePath(plan), key, value));
+        }
+
+        private void addUnknownField(UnknownField unknownField) {
+            if (unknownFields == null) {
+                unknownFields = new ArrayList<>();
+            }
+            unknownFields.add(unknownField);
+        }
+
+        /**
+         * reports what was measured and the unknown fields, once the whole document is written
+         */
+        void report(ConversionPlan plan) {
+            if (unions > 0) {
+                plan.getMetrics().onUnions(plan.getRootSchema(), unions, unionBranchesTried);
+            }
+            if (unknownFields != null) {
+                unknownFields.forEach(UnknownField::report);
+            }
+        }
+
+        private void writeArray(ConversionPlan plan) throws IOException {
+            expectValue(parser.currentToken() == JsonToken.START_ARRAY, plan);
+            ConversionPlan elementPlan = plan.getElementPlan();
+            int start = out.position();
+            long count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                writeValue(elementPlan);
+                count++;
+            }
+            writeBlockEnd(start, count);
+        }
+
+        private void writeMap(ConversionPlan plan) throws IOException {
+            expectValue(parser.currentToken() == JsonToken.START_OBJECT, plan);
+            ConversionPlan valuePlan = plan.getValuePlan();
+            int start = out.position();
+            long count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                out.writeString(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                parser.nextToken();
+                writeValue(valuePlan);
+                count++;
+            }
+            writeBlockEnd(start, count);
+        }
+
+        private void writeBlockEnd(int start, long count) {
+            if (count > 0) {
+                out.insertLong(start, count);
+            }
+            out.writeLong(0);
+        }
+
+        private void writeUnion(ConversionPlan plan) throws IOException {
+            JsonToken token = parser.currentToken();
+            int branches = plan.getSchema().getTypes().size();
+            unions++;
+            if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                if (violations != null && unionDepth == 0) {
+                    validateStructureUnion(plan, branches, token);
+                    return;
+                }
+                unionDepth++;
+                try {
+                    writeStructureBranch(plan, branches, token);
+                } finally {
+                    unionDepth--;
+                }
+                return;
+            }
+            unionDepth++;
+            try {
+                for (int i = 0; i < branches; i++) {
+                    if (writeScalarBranch(plan, i, token)) {
+                        return;
+                    }
+                }
+            } finally {
+                unionDepth--;
+            }
+            throw mismatch(plan);
+        }
+
+        /**
+         * the union is reported as a whole when no branch matches the value, so it is buffered to be converted again
+         */
+        private void validateStructureUnion(ConversionPlan plan, int branches, JsonToken token) throws IOException {
+            TokenBuffer value = new TokenBuffer(parser);
+            value.copyCurrentStructure(parser);
+            JsonParser documentParser = parser;
+            parser = value.asParser();
+            parser.nextToken();
+            unionDepth++;
+            try {
+                writeStructureBranch(plan, branches, token);
+                return;
+            } catch (StreamingAbort e) {
+                if (e != MISMATCH) {
+                    throw e;
+                }
+            } finally {
+                unionDepth--;
+                parser = documentParser;
+            }
+            JsonParser valueParser = value.asParser();
+            valueParser.nextToken();
+            throw violation(plan, mapper.readValue(valueParser, Object.class));
+        }
+
+        private boolean writeScalarBranch(ConversionPlan union, int index, JsonToken token) throws IOException {
+            ConversionPlan branch = union.getBranchPlan(index);
+            AvroTypeConverter converter = branch.getConverter();
+            if (converter == null || isStructure(converter)) {
+                return false;
+            }
+            if (SCALAR_CONVERTERS.contains(converter.getClass())) {
+                unionBranchesTried++;
+                return writeConvertedBranch(union, branch);
+            }
+            if (!acceptsScalar(converter, branch.getSchema(), token)) {
+                return false;
+            }
+            unionBranchesTried++;
+            out.writeInt(index);
+            writeValue(branch);
+            return true;
+        }
+
+        private boolean writeConvertedBranch(ConversionPlan union, ConversionPlan branch) throws IOException {
+            Object result;
+            try {
+                result = branch.getConverter().convert(branch, scalarValue(branch), context, true);
+            } catch (AvroRuntimeException e) {
+                return false;
+            }
+            if (result instanceof AvroTypeConverter.Incompatible) {
+                return false;
+            }
+            // the branch is resolved from the converted value, as GenericDatumWriter does
+            int index = GenericData.get().resolveUnion(union.getSchema(), result);
+            out.writeInt(index);
+            writeDatum(union.getSchema().getTypes().get(index), result);
+            return true;
+        }
+
+        private void writeStructureBranch(ConversionPlan union, int branches, JsonToken token) throws IOException {
+            int first = -1;
+            boolean ambiguous = false;
+            for (int i = 0; i < branches; i++) {
+                if (acceptsStructure(union.getBranchPlan(i).getConverter(), token)) {
+                    if (first < 0) {
+                        first = i;
+                    } else {
+                        ambiguous = true;
+                    }
+                }
+            }
+            expect(first >= 0);
+            if (!ambiguous) {
+                unionBranchesTried++;
+                out.writeInt(first);
+                writeValue(union.getBranchPlan(first));
+                return;
+            }
+
+            TokenBuffer value = new TokenBuffer(parser);
+            value.copyCurrentStructure(parser);
+            JsonParser documentParser = parser;
+            try {
+                for (int i = first; i < branches; i++) {
+                    ConversionPlan branch = union.getBranchPlan(i);
+                    if (!acceptsStructure(branch.getConverter(), token)) {
+                        continue;
+                    }
+                    int mark = out.position();
+                    unionBranchesTried++;
+                    parser = value.asParser();
+                    parser.nextToken();
+                    try {
+                        out.writeInt(i);
+                        writeValue(branch);
+                        return;
+                    } catch (StreamingAbort e) {
+                        if (e != MISMATCH) {
+                            throw e;
+                        }
+                    } catch (AvroRuntimeException e) {
+                        // same as in UnionConverter, the next branch is tried
+                    }
+                    out.truncate(mark);
+                }
+            } finally {
+                parser = documentParser;
+            }
+            throw MISMATCH;
+        }
+
+        private boolean acceptsScalar(AvroTypeConverter converter, Schema schema, JsonToken token) throws IOException {
+            if (converter == PrimitiveConverter.STRING || converter == PrimitiveConverter.BYTES) {
+                return token == JsonToken.VALUE_STRING;
+            } else if (converter == PrimitiveConverter.INT || converter == PrimitiveConverter.LONG
+                    || converter == PrimitiveConverter.FLOAT || converter == PrimitiveConverter.DOUBLE) {
+                return token.isNumeric();
+            } else if (converter == StrictNumberConverter.INT) {
+                return token.isNumeric() && fitsInt();
+            } else if (converter == StrictNumberConverter.LONG) {
+                return token.isNumeric() && fitsLong();
+            } else if (converter == StrictNumberConverter.FLOAT) {
+                return token.isNumeric() && fitsFloat();
+            } else if (converter == StrictNumberConverter.DOUBLE) {
+                return token.isNumeric() && fitsDouble();
+            } else if (converter == PrimitiveConverter.BOOLEAN) {
+                return token.isBoolean();
+            } else if (converter == EnumConverter.INSTANCE) {
+                return token == JsonToken.VALUE_STRING
+                        && (schema.getEnumDefault() != null || schema.hasEnumSymbol(parser.getText()));
+            } else if (converter == NullConverter.INSTANCE) {
+                return token == JsonToken.VALUE_NULL;
+            }
+            throw UNSUPPORTED;
+        }
+
+        private boolean acceptsStructure(AvroTypeConverter converter, JsonToken token) {
+            if (converter == null) {
+                return false;
+            } else if (is(converter, RecordConverter.class) || is(converter, MapConverter.class)) {
+                return token == JsonToken.START_OBJECT;
+            } else if (is(converter, ArrayConverter.class)) {
+                return token == JsonToken.START_ARRAY;
+            } else if (isScalar(converter)) {
+                return false;
+            }
+            throw UNSUPPORTED;
+        }
+
+        private Object scalarValue(ConversionPlan plan) throws IOException {
+            switch (parser.currentToken()) {
+                case VALUE_STRING:
+                    return parser.getText();
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    return parser.getNumberValue();
+                case VALUE_TRUE:
+                    return Boolean.TRUE;
+                case VALUE_FALSE:
+                    return Boolean.FALSE;
+                case VALUE_NULL:
+                    return null;
+                default:
+                    throw mismatch(plan);
+            }
+        }
+
+        private void writeDatum(Schema schema, Object datum) {
+            switch (schema.getType()) {
+                case INT:
+                    out.writeInt(((Number) datum).intValue());
+                    break;
+                case LONG:
+                    out.writeLong(((Number) datum).longValue());
+                    break;
+                case FLOAT:
+                    out.writeFloat(((Number) datum).floatValue());
+                    break;
+                case DOUBLE:
+                    out.writeDouble(((Number) datum).doubleValue());
+                    break;
+                case STRING:
+                    out.writeString(datum.toString());
+                    break;
+                case BYTES:
+                    ByteBuffer bytes = (ByteBuffer) datum;
+                    if (bytes.hasArray()) {
+                        out.writeBytes(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                    } else {
+                        byte[] array = new byte[bytes.remaining()];
+                        bytes.duplicate().get(array);
+                        out.writeBytes(array, 0, array.length);
+                    }
+                    break;
+                case FIXED:
+                    out.writeFixed(((GenericFixed) datum).bytes(), 0, schema.getFixedSize());
+                    break;
+                default:
+                    throw UNSUPPORTED;
+            }
+        }
+
+        // numbers are narrowed exactly like the boxed values of a json map are
+        private int intValue() throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return parser.getIntValue();
+                    case LONG:
+                        return (int) parser.getLongValue();
+                    default:
+                        return parser.getBigIntegerValue().intValue();
+                }
+            }
+            return (int) floatingValue();
+        }
+
+        private long longValue() throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                switch (parser.getNumberType()) {
+                    case INT:
+                    case LONG:
+                        return parser.getLongValue();
+                    default:
+                        return parser.getBigIntegerValue().longValue();
+                }
+            }
+            return (long) floatingValue();
+        }
+
+        private float floatValue() throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return (float) parser.getIntValue();
+                    case LONG:
+                        return (float) parser.getLongValue();
+                    default:
+                        return parser.getBigIntegerValue().floatValue();
+                }
+            }
+            return (float) floatingValue();
+        }
+
+        private double doubleValue() throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                switch (parser.getNumberType()) {
+                    case INT:
+                        return parser.getIntValue();
+                    case LONG:
+                        return (double) parser.getLongValue();
+                    default:
+                        return parser.getBigIntegerValue().doubleValue();
+                }
+            }
+            return floatingValue();
+        }
+
+        // numbers fit exactly like the boxed values of a json map do for StrictNumberConverter
+        private boolean fitsInt() throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return parser.getNumberType() == JsonParser.NumberType.INT;
+            }
+            return StrictNumberConverter.isExactInt(floatingValue());
+        }
+
+        private boolean fitsLong() throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER;
+            }
+            return StrictNumberConverter.isExactLong(floatingValue());
+        }
+
+        private boolean fitsFloat() throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER
+                        || !Float.isInfinite(parser.getBigIntegerValue().floatValue());
+            }
+            double value = floatingValue();
+            return !Float.isInfinite((float) value) || Double.isInfinite(value);
+        }
+
+        private boolean fitsDouble() throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER
+                        || !Double.isInfinite(parser.getBigIntegerValue().doubleValue());
+            }
+            return true;
+        }
+
+        private double floatingValue() throws IOException {
+            if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+                throw UNSUPPORTED;
+            }
+            return parser.getDoubleValue();
+        }
+    }
+
+    private static void expect(boolean condition) {
+        if (!condition) {
+            throw MISMATCH;
+        }
+    }
+
+    private static boolean is(AvroTypeConverter converter, Class<? extends AvroTypeConverter> type) {
+        return converter != null && converter.getClass() == type;
+    }
+
+    private static boolean isStructure(AvroTypeConverter converter) {
+        return is(converter, RecordConverter.class) || is(converter, MapConverter.class) || is(converter, ArrayConverter.class);
+    }
+
+    private static boolean isScalar(AvroTypeConverter converter) {
+        return converter == PrimitiveConverter.STRING || converter == PrimitiveConverter.BYTES
+                || converter == PrimitiveConverter.INT || converter == PrimitiveConverter.LONG
+                || converter == PrimitiveConverter.FLOAT || converter == PrimitiveConverter.DOUBLE
+                || converter == StrictNumberConverter.INT || converter == StrictNumberConverter.LONG
+                || converter == StrictNumberConverter.FLOAT || converter == StrictNumberConverter.DOUBLE
+                || converter == PrimitiveConverter.BOOLEAN || converter == EnumConverter.INSTANCE
+                || converter == NullConverter.INSTANCE || SCALAR_CONVERTERS.contains(converter.getClass());
+    }
+
+    private static final class UnknownField {
+        private final UnknownFieldListener listener;
+        private final ConversionPlan record;
+        private final ConversionPlan[] path;
+        private final String name;
+        private final Object value;
+
+        /**
+         * @param path the field nodes leading to the record, {@code null} if the parents of its plan lead to it
+         */
+        UnknownField(UnknownFieldListener listener, ConversionPlan record, ConversionPlan[] path, String name, Object value) {
+            this.listener = listener;
+            this.record = record;
+            this.path = path;
+            this.name = name;
+            this.value = value;
+        }
+
+        void report() {
+            record.getMetrics().onUnknownField(record.getRootSchema(), name);
+            if (listener != null) {
+                listener.onUnknownField(name, value,
+                        () -> ConversionContext.printPath(path != null ? path : record.getFieldNodes(), name));
+            }
+        }
+    }
+
+    private static final class StreamingAbort extends RuntimeException {
+        StreamingAbort(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
@@ -1,6 +1,20 @@
 package tech.allegro.schema.json2avro.converter;
 
+import java.util.function.Supplier;
+
 public interface UnknownFieldListener {
 
 	void onUnknownField(String name, Object value, String path);
+
+	/**
+	 * called by the converters instead of {@link #onUnknownField(String, Object, String)}, so the path of the field
+	 * is printed only if the listener needs it. Override it to skip printing the path altogether.
+	 *
+	 * @param name the name of the unknown field
+	 * @param value the json value of the unknown field
+	 * @param path prints the dot separated path of the unknown field, it has to be called before this method returns
+	 */
+	default void onUnknownField(String name, Object value, Supplier<String> path) {
+		onUnknownField(name, value, path.get());
+	}
 }
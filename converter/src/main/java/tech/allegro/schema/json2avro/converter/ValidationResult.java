@@ -0,0 +1,34 @@
+package tech.allegro.schema.json2avro.converter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of {@link JsonAvroConverter#validate(byte[], org.apache.avro.Schema)}, the violations of the schema found
+ * in a json document.
+ */
+public final class ValidationResult {
+    static final ValidationResult VALID = new ValidationResult(Collections.emptyList());
+
+    private final List<Violation> violations;
+
+    ValidationResult(List<Violation> violations) {
+        this.violations = violations;
+    }
+
+    public boolean isValid() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * @return the violations found, empty if the document is valid
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "valid" : "invalid: " + violations;
+    }
+}
@@ -0,0 +1,70 @@
+package tech.allegro.schema.json2avro.converter;
+
+import tech.allegro.schema.json2avro.converter.types.TypeMismatchException;
+
+/**
+ * A json value which does not match the schema, found by {@link JsonAvroConverter#validate(byte[], org.apache.avro.Schema)}
+ * or {@link JsonAvroConverter#convertCollectingViolations(byte[], org.apache.avro.Schema, int)}.
+ */
+public final class Violation {
+    private final String path;
+    private final String expected;
+    private final String message;
+    private final Throwable cause;
+
+    public Violation(String path, String expected, String message) {
+        this(path, expected, message, null);
+    }
+
+    private Violation(String path, String expected, String message, Throwable cause) {
+        this.path = path;
+        this.expected = expected;
+        this.message = message;
+        this.cause = cause;
+    }
+
+    static Violation of(TypeMismatchException exception) {
+        return new Violation(exception.getPath(), exception.getExpected(), exception.getMessage(), exception);
+    }
+
+    static Violation of(AvroConversionException exception) {
+        Throwable cause = exception.getCause();
+        if (cause instanceof TypeMismatchException) {
+            return of((TypeMismatchException) cause);
+        }
+        String message = cause != null && cause.getMessage() != null ? cause.getMessage() : exception.getMessage();
+        return new Violation("", null, message, cause != null ? cause : exception);
+    }
+
+    /**
+     * @return the exception the violation was found by, {@code null} if it was not created by the converter
+     */
+    Throwable getCause() {
+        return cause;
+    }
+
+    /**
+     * @return the dot separated path of the value, empty if the violation is not tied to a value, like malformed
+     * json
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return what the schema expects at the path, like the java type of the json value or the symbols of an enum,
+     * {@code null} if it is not known
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return path.isEmpty() ? message : path + ": " + message;
+    }
+}
@@ -0,0 +1,46 @@
+package tech.allegro.schema.json2avro.converter;
+
+import tech.allegro.schema.json2avro.converter.types.TypeMismatchException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The violations of the schema found by a conversion going on past the values which do not match it, up to a
+ * maximum number. It is given to the conversion in its {@link ConversionContext}.
+ */
+final class ViolationCollector {
+    private final int maxViolations;
+    private final List<Violation> violations = new ArrayList<>();
+
+    ViolationCollector(int maxViolations) {
+        if (maxViolations < 1) {
+            throw new IllegalArgumentException("Maximum number of violations must be positive, got " + maxViolations);
+        }
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * @return false if the maximum number of violations is reached, the violation is not collected then
+     */
+    boolean collect(TypeMismatchException exception) {
+        if (isFull()) {
+            return false;
+        }
+        violations.add(Violation.of(exception));
+        return true;
+    }
+
+    boolean isFull() {
+        return violations.size() >= maxViolations;
+    }
+
+    void add(Violation violation) {
+        violations.add(violation);
+    }
+
+    List<Violation> getViolations() {
+        return violations.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(violations);
+    }
+}
@@ -1,38 +1,72 @@
 package tech.allegro.schema.json2avro.converter.types;
 
-import org.apache.avro.AvroTypeException;
 import org.apache.avro.LogicalType;
 import org.apache.avro.Schema;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 
 import java.time.format.DateTimeParseException;
 import java.util.Deque;
 
-import static tech.allegro.schema.json2avro.converter.PathsPrinter.print;
-
 public abstract class AbstractDateTimeConverter implements AvroTypeConverter {
+    /**
+     * returned by {@link #parseDateTimeString(String)} for strings which are not valid date times
+     */
+    protected static final Object NOT_PARSED = new Object();
+
+    private final boolean customConversion = Overrides.isOverridden(this, AbstractDateTimeConverter.class,
+            "convert", Schema.Field.class, Schema.class, Object.class, Deque.class, boolean.class);
+    private volatile Incompatible incompatible;
 
     @Override
     public Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+        Object converted = convertJsonValue(jsonValue);
+        return converted != NOT_PARSED ? converted : notConverted(jsonValue, path, silently);
+    }
+
+    // the path is only asked for by subclasses overriding the conversion and to report a value which is not converted
+    @Override
+    public Object convert(ConversionPlan plan, Object jsonValue, ConversionContext context, boolean silently) {
+        if (customConversion) {
+            return AvroTypeConverter.super.convert(plan, jsonValue, context, silently);
+        }
+        Object converted = convertJsonValue(jsonValue);
+        if (converted != NOT_PARSED) {
+            return converted;
+        }
+        return silently ? incompatible() : notConverted(jsonValue, context.getPath(), false);
+    }
+
+    private Object convertJsonValue(Object jsonValue) {
         if (jsonValue instanceof String) {
-            String dateTimeString = (String) jsonValue;
-            try {
-                return convertDateTimeString(dateTimeString);
-            } catch (DateTimeParseException exception) {
-                if (silently) {
-                    return new Incompatible(getValidJsonFormat());
-                } else {
-                    throw new AvroTypeException("Field " + print(path) + " should be a valid " + getValidStringFormat() + ".");
-                }
-            }
+            return parseDateTimeString((String) jsonValue);
         } else if (jsonValue instanceof Number) {
             return convertNumber((Number) jsonValue);
         }
+        return NOT_PARSED;
+    }
 
+    private Object notConverted(Object jsonValue, Deque<String> path, boolean silently) {
         if (silently) {
-            return new Incompatible(getValidJsonFormat());
+            return incompatible();
+        } else if (jsonValue instanceof String) {
+            String validStringFormat = getValidStringFormat();
+            throw new TypeMismatchException(path, incompatible().expected,
+                    printedPath -> "Field " + printedPath + " should be a valid " + validStringFormat + ".");
         } else {
-            throw new AvroTypeException("Field " + print(path) + " is expected to be type: java.lang.String or java.lang.Number.");
+            throw new TypeMismatchException(path, incompatible().expected,
+                    printedPath -> "Field " + printedPath + " is expected to be type: java.lang.String or java.lang.Number.");
+        }
+    }
+
+    Incompatible incompatible() {
+        Incompatible result = incompatible;
+        if (result == null) {
+            // the formats are not read in the constructor, subclasses may not be initialized yet
+            result = new Incompatible(getValidJsonFormat());
+            incompatible = result;
         }
+        return result;
     }
 
     @Override
@@ -42,6 +76,22 @@ public abstract class AbstractDateTimeConverter implements AvroTypeConverter {
 
     protected abstract Object convertDateTimeString(String dateTimeString);
 
+    /**
+     * Converts the string parsing it once, for both telling whether it is a valid date time and converting it. The
+     * converters of this package parse without throwing, so strings of other types in unions are reported as
+     * incompatible without throwing and catching an exception.
+     *
+     * @return the converted value or {@link #NOT_PARSED}, by default when {@link #convertDateTimeString(String)}
+     * throws a {@link DateTimeParseException}
+     */
+    protected Object parseDateTimeString(String dateTimeString) {
+        try {
+            return convertDateTimeString(dateTimeString);
+        } catch (DateTimeParseException exception) {
+            return NOT_PARSED;
+        }
+    }
+
     protected abstract Object convertNumber(Number numberValue);
 
     protected abstract Schema.Type getUnderlyingSchemaType();
@@ -1,13 +1,14 @@
 package tech.allegro.schema.json2avro.converter.types;
 
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 import tech.allegro.schema.json2avro.converter.JsonToAvroReader;
 
 import java.util.Collection;
 import java.util.Deque;
 
-import static java.util.stream.Collectors.toList;
-
 public class ArrayConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Collection> {
     private final JsonToAvroReader jsonToAvroReader;
 
@@ -19,9 +20,23 @@ public class ArrayConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Col
     @SuppressWarnings("unchecked")
     @Override
     public Object convertValue(Schema.Field field, Schema schema, Collection value, Deque<String> path, boolean silently) {
-        return ((Collection<Object>) value).stream()
-                .map(item -> this.jsonToAvroReader.read(field, schema.getElementType(), item, path, false))
-                .collect(toList());
+        Schema elementType = schema.getElementType();
+        GenericData.Array<Object> result = new GenericData.Array<>(value.size(), schema);
+        for (Object item : (Collection<Object>) value) {
+            result.add(this.jsonToAvroReader.read(field, elementType, item, path, false));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object convertValue(ConversionPlan plan, Collection value, ConversionContext context, boolean silently) {
+        ConversionPlan elementPlan = plan.getElementPlan();
+        GenericData.Array<Object> result = new GenericData.Array<>(value.size(), plan.getSchema());
+        for (Object item : (Collection<Object>) value) {
+            result.add(elementPlan.convert(item, context, false));
+        }
+        return result;
     }
 
     @Override
@@ -1,6 +1,8 @@
 package tech.allegro.schema.json2avro.converter.types;
 
 import org.apache.avro.Schema;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 
 import java.util.Deque;
 
@@ -18,6 +20,21 @@ public interface AvroTypeConverter {
      */
     Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently);
 
+    /**
+     * convert the json jsonValue to the avro jsonValue using a compiled plan of the schema node.
+     * Converters of nested types override it to dispatch directly to the plans of their children.
+     *
+     * @param plan the plan of the schema node this converter was resolved for
+     * @param jsonValue the json jsonValue
+     * @param context the path of the field and the violations collected by the conversion
+     * @param silently should be false to throw an error in case of incompatible java type for the avro type
+     *
+     * @return the converted jsonValue or an Incompatible instance if silently is true and value is incompatible
+     */
+    default Object convert(ConversionPlan plan, Object jsonValue, ConversionContext context, boolean silently) {
+        return convert(plan.getField(), plan.getSchema(), jsonValue, context.getPath(), silently);
+    }
+
     /**
      * used to know if this class can convert the json value to the avro value
      *
@@ -32,6 +49,10 @@ public interface AvroTypeConverter {
         return schema.getLogicalType() != null && logicalType.equals(schema.getLogicalType().getName());
     }
 
+    /**
+     * The result of a silent conversion of an incompatible value. It is immutable, so converters return one shared
+     * instance per expected type.
+     */
     class Incompatible {
         public final String expected;
 
@@ -2,17 +2,20 @@ package tech.allegro.schema.json2avro.converter.types;
 
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 import tech.allegro.schema.json2avro.converter.PathsPrinter;
 
 import java.util.Deque;
 
-import static tech.allegro.schema.json2avro.converter.PathsPrinter.print;
 
 public abstract class AvroTypeConverterWithStrictJavaTypeCheck<T> implements AvroTypeConverter {
     private final Class<T> javaType;
+    private final Incompatible incompatible;
 
     protected AvroTypeConverterWithStrictJavaTypeCheck(Class<T> javaType) {
         this.javaType = javaType;
+        this.incompatible = new Incompatible(javaType.getTypeName());
     }
 
     @SuppressWarnings("unchecked")
@@ -21,17 +24,47 @@ public abstract class AvroTypeConverterWithStrictJavaTypeCheck<T> implements Avr
         if (javaType.isInstance(jsonValue)) {
             return this.convertValue(field, schema, (T) jsonValue, path, silently);
         } else {
-            if (silently) {
-                return new Incompatible(this.javaType.getTypeName());
-            } else {
-                throw typeException(path, javaType.getTypeName());
-            }
+            return incompatible(path, silently);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object convert(ConversionPlan plan, Object jsonValue, ConversionContext context, boolean silently) {
+        if (javaType.isInstance(jsonValue)) {
+            return this.convertValue(plan, (T) jsonValue, context, silently);
+        } else {
+            return silently ? incompatible : incompatible(context.getPath(), false);
+        }
+    }
+
+    /**
+     * @return the java type of the json values this converter accepts, other values are incompatible
+     */
+    public Class<T> getJavaType() {
+        return javaType;
+    }
+
+    Incompatible incompatible() {
+        return incompatible;
+    }
+
     public abstract Object convertValue(Schema.Field field, Schema schema, T value, Deque<String> path, boolean silently);
 
+    public Object convertValue(ConversionPlan plan, T value, ConversionContext context, boolean silently) {
+        return convertValue(plan.getField(), plan.getSchema(), value, context.getPath(), silently);
+    }
+
+    private Object incompatible(Deque<String> path, boolean silently) {
+        if (silently) {
+            return incompatible;
+        } else {
+            throw typeException(path, incompatible.expected);
+        }
+    }
+
     private static AvroTypeException typeException(Deque<String> fieldPath, String expectedType) {
-        return new AvroTypeException("Field " + print(fieldPath) + " is expected to be type: " + expectedType);
+        return new TypeMismatchException(fieldPath, expectedType,
+                printedPath -> "Field " + printedPath + " is expected to be type: " + expectedType);
     }
 }
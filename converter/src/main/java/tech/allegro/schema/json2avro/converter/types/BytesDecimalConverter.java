@@ -1,32 +1,99 @@
 package tech.allegro.schema.json2avro.converter.types;
 
-import org.apache.avro.AvroTypeException;
+import org.apache.avro.LogicalTypes;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Deque;
 
 import static org.apache.avro.Schema.Type.BYTES;
-import static tech.allegro.schema.json2avro.converter.PathsPrinter.print;
+import static org.apache.avro.Schema.Type.FIXED;
 
+/**
+ * Converts json numbers and numeric strings to avro decimals backed by bytes or fixed.
+ * <p>
+ * Values whose unscaled value fits in a long are encoded directly to two's-complement bytes, other values go through
+ * {@link BigDecimal}. Values with more digits than the precision of the schema are rejected. Subclasses overriding
+ * {@link #bigDecimalWithExpectedScale} or {@link #convertDecimal} are always called with the values, and a result of
+ * {@link #convertDecimal} which is not a {@link ByteBuffer} is returned as it is.
+ */
 public class BytesDecimalConverter implements AvroTypeConverter {
     public static final AvroTypeConverter INSTANCE = new BytesDecimalConverter();
 
+    private static final Incompatible INCOMPATIBLE = new Incompatible("string number, decimal");
+    private static final long NOT_EXACT = Long.MIN_VALUE;
+    private static final long MAX_BEFORE_DIGIT = (Long.MAX_VALUE - 9) / 10;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final boolean customConversion;
+    private final boolean customScaling;
+
     public BytesDecimalConverter() {
+        this.customConversion = Overrides.isOverridden(this, BytesDecimalConverter.class,
+                "convertDecimal", Object.class, int.class, Deque.class);
+        this.customScaling = Overrides.isOverridden(this, BytesDecimalConverter.class,
+                "bigDecimalWithExpectedScale", String.class, int.class, Deque.class);
     }
 
     @Override
     public Object convert(Schema.Field field, Schema schema, Object value, Deque<String> path, boolean silently) {
+        DecimalSchema decimal = new DecimalSchema(schema);
+        Object exact = convertExactly(decimal, value);
+        return exact != null ? exact : convertValue(decimal, value, path, silently);
+    }
+
+    // the path is only asked for by the values which do not fit in a long, which may not be converted
+    @Override
+    public Object convert(ConversionPlan plan, Object value, ConversionContext context, boolean silently) {
+        DecimalSchema decimal = plan.getState(node -> new DecimalSchema(node.getSchema()));
+        Object exact = convertExactly(decimal, value);
+        return exact != null ? exact : convertValue(decimal, value, context.getPath(), silently);
+    }
+
+    /**
+     * @return the value encoded from its unscaled long, {@code null} if it does not fit in a long or if a subclass
+     * customizes the conversion
+     */
+    private Object convertExactly(DecimalSchema decimal, Object value) {
+        if (customConversion || customScaling) {
+            return null;
+        }
+        long unscaled = unscaledLong(value, decimal);
+        return unscaled != NOT_EXACT ? decimal.wrap(unscaled) : null;
+    }
+
+    /**
+     * converts the values which are not converted exactly, through {@link BigDecimal} or the subclass
+     */
+    private Object convertValue(DecimalSchema decimal, Object value, Deque<String> path, boolean silently) {
         try {
-            int scale = (int) schema.getObjectProp("scale");
-            return convertDecimal(value, scale, path);
+            if (customConversion) {
+                Object converted = convertDecimal(value, decimal.scale, path);
+                return converted instanceof ByteBuffer ? decimal.wrap((ByteBuffer) converted, path) : converted;
+            }
+            BigDecimal bigDecimal = bigDecimalWithExpectedScale(value.toString(), decimal.scale, path);
+            decimal.checkPrecision(bigDecimal, path);
+            return decimal.wrap(bigDecimal.unscaledValue().toByteArray(), path);
         } catch (NumberFormatException exception) {
             if (silently) {
-                return new Incompatible("string number, decimal");
+                return INCOMPATIBLE;
             } else {
-                throw new AvroTypeException("Field " + print(path) + " is expected to be a valid number. current value is " + value + ".");
+                throw new TypeMismatchException(path, INCOMPATIBLE.expected,
+                        printedPath -> "Field " + printedPath + " is expected to be a valid number. current value is " + value + ".");
             }
         }
     }
@@ -41,15 +108,146 @@ public class BytesDecimalConverter implements AvroTypeConverter {
         if (bigDecimalInput.scale() <= scale) {
             return bigDecimalInput.setScale(scale, RoundingMode.UNNECESSARY);
         } else {
-            throw new AvroTypeException("Field " + print(path) + " is expected to be a number with scale up to " +
-                    scale + ". current value: " + bigDecimalInput + " is number with scale " + bigDecimalInput.scale() + ".");
+            throw new TypeMismatchException(path,
+                    printedPath -> "Field " + printedPath + " is expected to be a number with scale up to " +
+                            scale + ". current value: " + bigDecimalInput + " is number with scale " + bigDecimalInput.scale() + ".");
         }
     }
 
     @Override
     public boolean canManage(Schema schema, Deque<String> deque) {
-        return BYTES.equals(schema.getType())
+        return (BYTES.equals(schema.getType()) || FIXED.equals(schema.getType()))
                 && AvroTypeConverter.isLogicalType(schema, "decimal")
                 && schema.getObjectProp("scale") != null;
     }
+
+    /**
+     * @return the unscaled value of integers and plain decimal strings which fit in a long and in the precision, or
+     * {@link #NOT_EXACT} for values which have to go through {@link BigDecimal}, including the invalid ones
+     */
+    private static long unscaledLong(Object value, DecimalSchema decimal) {
+        long unscaled;
+        if (value instanceof Integer || value instanceof Long) {
+            unscaled = scaleUp(((Number) value).longValue(), decimal.scale);
+        } else if (value instanceof String) {
+            unscaled = parseUnscaled((String) value, decimal.scale);
+        } else if (value instanceof Double) {
+            // BigDecimal would parse the same string
+            unscaled = parseUnscaled(value.toString(), decimal.scale);
+        } else {
+            return NOT_EXACT;
+        }
+        return unscaled != NOT_EXACT && decimal.fitsPrecision(unscaled) ? unscaled : NOT_EXACT;
+    }
+
+    private static long parseUnscaled(String value, int scale) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index = 1;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; index < length; index++) {
+            char c = value.charAt(index);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9' || unscaled > MAX_BEFORE_DIGIT) {
+                return NOT_EXACT;
+            }
+            unscaled = unscaled * 10 + (c - '0');
+            digits++;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        if (digits == 0 || fractionDigits > scale) {
+            return NOT_EXACT;
+        }
+        return scaleUp(negative ? -unscaled : unscaled, scale - Math.max(fractionDigits, 0));
+    }
+
+    private static long scaleUp(long value, int scale) {
+        if (scale >= POWERS_OF_TEN.length || value == Long.MIN_VALUE) {
+            return NOT_EXACT;
+        }
+        long power = POWERS_OF_TEN[scale];
+        return Math.abs(value) <= Long.MAX_VALUE / power ? value * power : NOT_EXACT;
+    }
+
+    /**
+     * The decimal properties of a schema node, read once per node of a conversion plan.
+     */
+    private static final class DecimalSchema {
+        private final Schema schema;
+        private final int scale;
+        private final int precision;
+        private final int fixedSize;
+
+        DecimalSchema(Schema schema) {
+            this.schema = schema;
+            this.scale = (int) schema.getObjectProp("scale");
+            this.precision = ((LogicalTypes.Decimal) schema.getLogicalType()).getPrecision();
+            this.fixedSize = FIXED.equals(schema.getType()) ? schema.getFixedSize() : -1;
+        }
+
+        boolean fitsPrecision(long unscaled) {
+            return precision >= POWERS_OF_TEN.length || Math.abs(unscaled) < POWERS_OF_TEN[precision];
+        }
+
+        void checkPrecision(BigDecimal bigDecimal, Deque<String> path) {
+            if (bigDecimal.precision() > precision) {
+                throw new TypeMismatchException(path,
+                        printedPath -> "Field " + printedPath + " is expected to be a number with precision up to " +
+                                precision + ". current value: " + bigDecimal + " is number with precision " + bigDecimal.precision() + ".");
+            }
+        }
+
+        /**
+         * encodes the unscaled value to two's-complement bytes, like {@link java.math.BigInteger#toByteArray()} does
+         * for bytes and sign extended to the size of fixed
+         */
+        Object wrap(long unscaled) {
+            int length = fixedSize < 0 ? (64 - Long.numberOfLeadingZeros(unscaled ^ (unscaled >> 63))) / 8 + 1 : fixedSize;
+            byte[] bytes = new byte[length];
+            for (int i = length - 1; i >= 0; i--) {
+                bytes[i] = (byte) unscaled;
+                unscaled >>= 8;
+            }
+            return fixedSize < 0 ? ByteBuffer.wrap(bytes) : new GenericData.Fixed(schema, bytes);
+        }
+
+        Object wrap(byte[] twosComplement, Deque<String> path) {
+            if (fixedSize < 0) {
+                return ByteBuffer.wrap(twosComplement);
+            }
+            if (twosComplement.length > fixedSize) {
+                throw new TypeMismatchException(path,
+                        printedPath -> "Field " + printedPath + " is expected to be a decimal of up to " + fixedSize + " bytes.");
+            }
+            byte[] bytes = new byte[fixedSize];
+            int padding = fixedSize - twosComplement.length;
+            Arrays.fill(bytes, 0, padding, twosComplement.length > 0 && twosComplement[0] < 0 ? (byte) -1 : 0);
+            System.arraycopy(twosComplement, 0, bytes, padding, twosComplement.length);
+            return new GenericData.Fixed(schema, bytes);
+        }
+
+        /**
+         * checks the precision of the unscaled bytes returned by {@link #convertDecimal}, returned as they are for
+         * bytes and sign extended to the size of fixed
+         */
+        Object wrap(ByteBuffer twosComplement, Deque<String> path) {
+            byte[] bytes = new byte[twosComplement.remaining()];
+            twosComplement.duplicate().get(bytes);
+            if (bytes.length > 0) {
+                checkPrecision(new BigDecimal(new BigInteger(bytes), scale), path);
+            }
+            return fixedSize < 0 ? twosComplement : wrap(bytes, path);
+        }
+    }
 }
@@ -3,14 +3,19 @@ package tech.allegro.schema.json2avro.converter.types;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
-import tech.allegro.schema.json2avro.converter.PathsPrinter;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import static java.util.stream.Collectors.joining;
-import static tech.allegro.schema.json2avro.converter.PathsPrinter.print;
 
+/**
+ * Converts json strings to symbols of an enum. Strings which are not symbols of the enum are converted to its
+ * default symbol when the enum declares one.
+ */
 public class EnumConverter extends AvroTypeConverterWithStrictJavaTypeCheck<String> {
     public static final AvroTypeConverter INSTANCE = new EnumConverter();
 
@@ -20,11 +25,33 @@ public class EnumConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Stri
 
     @Override
     public Object convertValue(Schema.Field field, Schema schema, String value, Deque<String> path, boolean silently) {
-        List<String> symbols = schema.getEnumSymbols();
-        if (symbols.contains(value)) {
+        if (schema.hasEnumSymbol(value)) {
             return new GenericData.EnumSymbol(schema, value);
+        } else if (schema.getEnumDefault() != null) {
+            return new GenericData.EnumSymbol(schema, schema.getEnumDefault());
         }
-        throw enumException(path, symbols.stream().map(String::valueOf).collect(joining(", ")));
+        throw enumException(path, String.join(", ", schema.getEnumSymbols()));
+    }
+
+    @Override
+    public Object convertValue(ConversionPlan plan, String value, ConversionContext context, boolean silently) {
+        EnumSymbols symbols = plan.getState(EnumSymbols::new);
+        int ordinal = symbols.ordinalOf(value);
+        if (ordinal < 0) {
+            throw enumException(context.getPath(), symbols.expectedSymbols);
+        }
+        return symbols.symbols[ordinal];
+    }
+
+    /**
+     * @param plan the plan of an enum schema node converted by this converter
+     * @param value the json string
+     *
+     * @return the ordinal of the symbol the value is converted to, -1 if the value is not a symbol of the enum and
+     * the enum has no default symbol
+     */
+    public static int ordinalOf(ConversionPlan plan, String value) {
+        return plan.getState(EnumSymbols::new).ordinalOf(value);
     }
 
     @Override
@@ -33,6 +60,36 @@ public class EnumConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Stri
     }
 
     private static AvroTypeException enumException(Deque<String> fieldPath, String expectedSymbols) {
-        return new AvroTypeException("Field " + print(fieldPath) + " is expected to be of enum type and be one of " + expectedSymbols);
+        return new TypeMismatchException(fieldPath, expectedSymbols,
+                printedPath -> "Field " + printedPath + " is expected to be of enum type and be one of " + expectedSymbols);
+    }
+
+    /**
+     * The symbols of an enum schema node indexed by name, shared by all the records converted along the plan as
+     * {@link GenericData.EnumSymbol} is immutable.
+     */
+    private static final class EnumSymbols {
+        private final Map<String, Integer> ordinals;
+        private final GenericData.EnumSymbol[] symbols;
+        private final int defaultOrdinal;
+        private final String expectedSymbols;
+
+        EnumSymbols(ConversionPlan plan) {
+            Schema schema = plan.getSchema();
+            List<String> names = schema.getEnumSymbols();
+            this.ordinals = new HashMap<>(names.size() * 4 / 3 + 1);
+            this.symbols = new GenericData.EnumSymbol[names.size()];
+            for (int i = 0; i < symbols.length; i++) {
+                ordinals.put(names.get(i), i);
+                symbols[i] = new GenericData.EnumSymbol(schema, names.get(i));
+            }
+            this.defaultOrdinal = schema.getEnumDefault() == null ? -1 : ordinals.get(schema.getEnumDefault());
+            this.expectedSymbols = String.join(", ", names);
+        }
+
+        int ordinalOf(String value) {
+            Integer ordinal = ordinals.get(value);
+            return ordinal == null ? defaultOrdinal : ordinal;
+        }
     }
 }
@@ -3,21 +3,48 @@ package tech.allegro.schema.json2avro.converter.types;
 import org.apache.avro.LogicalType;
 import org.apache.avro.LogicalTypes;
 
+import java.text.Format;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 
 public class IntDateConverter extends AbstractIntDateTimeConverter {
     public static final AvroTypeConverter INSTANCE = new IntDateConverter(DateTimeFormatter.ISO_DATE);
 
     private final DateTimeFormatter dateTimeFormatter;
+    private final Format format;
+    private final boolean customParser;
+    private final boolean customConversion;
+    private final boolean isoFormatter;
 
     public IntDateConverter(DateTimeFormatter dateTimeFormatter) {
         this.dateTimeFormatter = dateTimeFormatter;
+        this.format = dateTimeFormatter.toFormat();
+        this.customParser = Overrides.isOverridden(this, IntDateConverter.class, "parseLocalDate", String.class);
+        this.customConversion = customParser
+                || Overrides.isOverridden(this, IntDateConverter.class, "convertDateTimeString", String.class);
+        // strings are parsed by hand only when the parsing of a subclass would be skipped
+        this.isoFormatter = IsoDateTimeParser.isIsoDateFormatter(dateTimeFormatter) && !customParser;
     }
 
     @Override
     protected Object convertDateTimeString(String dateTimeString) {
-        return parseLocalDate(dateTimeString).toEpochDay();
+        long epochDay = isoFormatter ? IsoDateTimeParser.parseEpochDay(dateTimeString) : IsoDateTimeParser.NOT_PARSED;
+        return epochDay != IsoDateTimeParser.NOT_PARSED ? epochDay : parseLocalDate(dateTimeString).toEpochDay();
+    }
+
+    @Override
+    protected Object parseDateTimeString(String dateTimeString) {
+        if (customConversion) {
+            // the subclass tells the strings it cannot parse by throwing
+            return super.parseDateTimeString(dateTimeString);
+        }
+        long epochDay = isoFormatter ? IsoDateTimeParser.parseEpochDay(dateTimeString) : IsoDateTimeParser.NOT_PARSED;
+        if (epochDay != IsoDateTimeParser.NOT_PARSED) {
+            return epochDay;
+        }
+        TemporalAccessor parsed = IsoDateTimeParser.parseFully(format, dateTimeString);
+        return parsed != null ? LocalDate.from(parsed).toEpochDay() : NOT_PARSED;
     }
 
     protected LocalDate parseLocalDate(String dateTimeString) {
@@ -0,0 +1,229 @@
+package tech.allegro.schema.json2avro.converter.types;
+
+import java.text.Format;
+import java.text.ParsePosition;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Parses the common fixed layouts of ISO-8601 dates and times without a {@link DateTimeFormatter} and without
+ * allocating: {@code yyyy-MM-dd}, {@code HH:mm:ss[.fffffffff]} and
+ * {@code yyyy-MM-ddTHH:mm:ss[.fffffffff](Z|+hh:mm|-hh:mm)}.
+ * <p>
+ * Strings of other layouts, like lower case letters, omitted seconds, zone ids or years of more than four digits,
+ * and out of range values are not parsed, so they are left to the formatter which either parses them or reports why
+ * they are not valid.
+ */
+final class IsoDateTimeParser {
+    static final long NOT_PARSED = Long.MIN_VALUE;
+
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int MAX_OFFSET_HOURS = 18;
+
+    private IsoDateTimeParser() {
+    }
+
+    static boolean isIsoTimestampFormatter(DateTimeFormatter formatter) {
+        return formatter == DateTimeFormatter.ISO_DATE_TIME || formatter == DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    }
+
+    static boolean isIsoDateFormatter(DateTimeFormatter formatter) {
+        return formatter == DateTimeFormatter.ISO_DATE || formatter == DateTimeFormatter.ISO_LOCAL_DATE;
+    }
+
+    static boolean isIsoTimeFormatter(DateTimeFormatter formatter) {
+        return formatter == DateTimeFormatter.ISO_TIME || formatter == DateTimeFormatter.ISO_LOCAL_TIME;
+    }
+
+    /**
+     * Parses and resolves the whole string with a formatter, without throwing for strings it cannot parse.
+     *
+     * @param format the formatter as returned by {@link DateTimeFormatter#toFormat()}
+     * @return the parsed date time or null
+     */
+    static TemporalAccessor parseFully(Format format, String text) {
+        ParsePosition position = new ParsePosition(0);
+        Object parsed = format.parseObject(text, position);
+        return parsed != null && position.getIndex() == text.length() ? (TemporalAccessor) parsed : null;
+    }
+
+    /**
+     * @return epoch day of a {@code yyyy-MM-dd} date or {@link #NOT_PARSED}
+     */
+    static long parseEpochDay(String text) {
+        return text.length() == 10 ? epochDay(text) : NOT_PARSED;
+    }
+
+    /**
+     * @return nano of day of a {@code HH:mm:ss[.fffffffff]} time or {@link #NOT_PARSED}
+     */
+    static long parseNanoOfDay(String text) {
+        int secondOfDay = secondOfDay(text, 0);
+        if (secondOfDay < 0) {
+            return NOT_PARSED;
+        }
+        int end = fractionEnd(text, 8);
+        if (end != text.length()) {
+            return NOT_PARSED;
+        }
+        return secondOfDay * 1_000_000_000L + nanos(text, 8, end);
+    }
+
+    /**
+     * @return epoch millis of a {@code yyyy-MM-ddTHH:mm:ss[.fffffffff](Z|+hh:mm|-hh:mm)} date time or
+     * {@link #NOT_PARSED}
+     */
+    static long parseEpochMillis(String text) {
+        return parseEpoch(text, 1_000L, 1_000_000);
+    }
+
+    /**
+     * @return epoch micros of a {@code yyyy-MM-ddTHH:mm:ss[.fffffffff](Z|+hh:mm|-hh:mm)} date time or
+     * {@link #NOT_PARSED}
+     */
+    static long parseEpochMicros(String text) {
+        return parseEpoch(text, 1_000_000L, 1_000);
+    }
+
+    private static long parseEpoch(String text, long unitsPerSecond, int nanosPerUnit) {
+        if (text.length() < 20 || text.charAt(10) != 'T') {
+            return NOT_PARSED;
+        }
+        long epochDay = epochDay(text);
+        int secondOfDay = secondOfDay(text, 11);
+        if (epochDay == NOT_PARSED || secondOfDay < 0) {
+            return NOT_PARSED;
+        }
+        int fractionEnd = fractionEnd(text, 19);
+        int offsetSeconds = offsetSeconds(text, fractionEnd);
+        if (fractionEnd < 0 || offsetSeconds == Integer.MIN_VALUE) {
+            return NOT_PARSED;
+        }
+        // nanos are never negative, so the division rounds down like Instant.toEpochMilli does
+        long epochSecond = epochDay * SECONDS_PER_DAY + secondOfDay - offsetSeconds;
+        return epochSecond * unitsPerSecond + nanos(text, 19, fractionEnd) / nanosPerUnit;
+    }
+
+    private static long epochDay(String text) {
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || text.charAt(4) != '-' || text.charAt(7) != '-'
+                || day > lengthOfMonth(year, month)) {
+            return NOT_PARSED;
+        }
+        // based on java.time.LocalDate#toEpochDay for non negative years
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total -= isLeapYear(year) ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static int secondOfDay(String text, int start) {
+        if (text.length() < start + 8 || text.charAt(start + 2) != ':' || text.charAt(start + 5) != ':') {
+            return -1;
+        }
+        int hour = digits(text, start, 2);
+        int minute = digits(text, start + 3, 2);
+        int second = digits(text, start + 6, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return -1;
+        }
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    /**
+     * @return index after the optional fraction of second starting at the index, or -1 if it has no or too many digits
+     */
+    private static int fractionEnd(String text, int start) {
+        if (start == text.length() || text.charAt(start) != '.') {
+            return start;
+        }
+        int end = start + 1;
+        while (end < text.length() && isDigit(text.charAt(end))) {
+            end++;
+        }
+        int digits = end - start - 1;
+        return digits >= 1 && digits <= 9 ? end : -1;
+    }
+
+    private static int nanos(String text, int start, int end) {
+        if (end == start) {
+            return 0;
+        }
+        int nanos = 0;
+        for (int i = start + 1; i < end; i++) {
+            nanos = nanos * 10 + (text.charAt(i) - '0');
+        }
+        for (int i = end - start - 1; i < 9; i++) {
+            nanos *= 10;
+        }
+        return nanos;
+    }
+
+    /**
+     * @return offset in seconds of {@code Z}, {@code +hh:mm} or {@code -hh:mm} ending the string, or
+     * {@link Integer#MIN_VALUE}
+     */
+    private static int offsetSeconds(String text, int start) {
+        if (start < 0) {
+            return Integer.MIN_VALUE;
+        }
+        int length = text.length() - start;
+        if (length == 1 && text.charAt(start) == 'Z') {
+            return 0;
+        }
+        if (length != 6 || text.charAt(start + 3) != ':') {
+            return Integer.MIN_VALUE;
+        }
+        char sign = text.charAt(start);
+        int hours = digits(text, start + 1, 2);
+        int minutes = digits(text, start + 4, 2);
+        if (sign != '+' && sign != '-' || hours < 0 || minutes < 0 || minutes > 59
+                || hours > MAX_OFFSET_HOURS || hours == MAX_OFFSET_HOURS && minutes > 0) {
+            return Integer.MIN_VALUE;
+        }
+        int seconds = hours * 3600 + minutes * 60;
+        return sign == '+' ? seconds : -seconds;
+    }
+
+    /**
+     * @return value of the digits or -1 if any of the characters is not a digit
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
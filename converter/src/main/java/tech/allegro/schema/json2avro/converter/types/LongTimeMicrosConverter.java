@@ -3,25 +3,54 @@ package tech.allegro.schema.json2avro.converter.types;
 import org.apache.avro.LogicalType;
 import org.apache.avro.LogicalTypes;
 
+import java.text.Format;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.concurrent.TimeUnit;
 
 public class LongTimeMicrosConverter extends AbstractLongDateTimeConverter {
     public static final AvroTypeConverter INSTANCE = new LongTimeMicrosConverter(DateTimeFormatter.ISO_TIME);
 
     private final DateTimeFormatter dateTimeFormatter;
+    private final Format format;
+    private final boolean customParser;
+    private final boolean customConversion;
+    private final boolean isoFormatter;
 
     public LongTimeMicrosConverter(DateTimeFormatter dateTimeFormatter) {
         this.dateTimeFormatter = dateTimeFormatter;
+        this.format = dateTimeFormatter.toFormat();
+        this.customParser = Overrides.isOverridden(this, LongTimeMicrosConverter.class, "parseLocalTime", String.class);
+        this.customConversion = customParser
+                || Overrides.isOverridden(this, LongTimeMicrosConverter.class, "convertDateTimeString", String.class);
+        // strings are parsed by hand only when the parsing of a subclass would be skipped
+        this.isoFormatter = IsoDateTimeParser.isIsoTimeFormatter(dateTimeFormatter) && !customParser;
     }
 
     @Override
     protected Object convertDateTimeString(String dateTimeString) {
-        long nanoOfDay = parseLocalTime(dateTimeString).toNanoOfDay();
+        long nanoOfDay = isoFormatter ? IsoDateTimeParser.parseNanoOfDay(dateTimeString) : IsoDateTimeParser.NOT_PARSED;
+        if (nanoOfDay == IsoDateTimeParser.NOT_PARSED) {
+            nanoOfDay = parseLocalTime(dateTimeString).toNanoOfDay();
+        }
         return TimeUnit.NANOSECONDS.toMicros(nanoOfDay);
     }
 
+    @Override
+    protected Object parseDateTimeString(String dateTimeString) {
+        if (customConversion) {
+            // the subclass tells the strings it cannot parse by throwing
+            return super.parseDateTimeString(dateTimeString);
+        }
+        long nanoOfDay = isoFormatter ? IsoDateTimeParser.parseNanoOfDay(dateTimeString) : IsoDateTimeParser.NOT_PARSED;
+        if (nanoOfDay != IsoDateTimeParser.NOT_PARSED) {
+            return TimeUnit.NANOSECONDS.toMicros(nanoOfDay);
+        }
+        TemporalAccessor parsed = IsoDateTimeParser.parseFully(format, dateTimeString);
+        return parsed != null ? TimeUnit.NANOSECONDS.toMicros(LocalTime.from(parsed).toNanoOfDay()) : NOT_PARSED;
+    }
+
     protected LocalTime parseLocalTime(String dateTimeString) {
         return LocalTime.from(dateTimeFormatter.parse(dateTimeString));
     }
@@ -3,21 +3,58 @@ package tech.allegro.schema.json2avro.converter.types;
 import org.apache.avro.LogicalType;
 import org.apache.avro.LogicalTypes;
 
+import java.text.Format;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 
 public class LongTimestampMicrosConverter extends AbstractLongDateTimeConverter {
     public static final AvroTypeConverter INSTANCE = new LongTimestampMicrosConverter(DateTimeFormatter.ISO_DATE_TIME);
 
     private final DateTimeFormatter dateTimeFormatter;
+    private final Format format;
+    private final boolean customParser;
+    private final boolean customConversion;
+    private final boolean isoFormatter;
 
     public LongTimestampMicrosConverter(DateTimeFormatter dateTimeFormatter) {
         this.dateTimeFormatter = dateTimeFormatter;
+        this.format = dateTimeFormatter.toFormat();
+        this.customParser = Overrides.isOverridden(this, LongTimestampMicrosConverter.class, "parseInstant", String.class);
+        this.customConversion = customParser
+                || Overrides.isOverridden(this, LongTimestampMicrosConverter.class, "convertDateTimeString", String.class);
+        // strings are parsed by hand only when the parsing of a subclass would be skipped
+        this.isoFormatter = IsoDateTimeParser.isIsoTimestampFormatter(dateTimeFormatter) && !customParser;
     }
 
     @Override
     protected Object convertDateTimeString(String dateTimeString) {
-        Instant instant = parseInstant(dateTimeString);
+        long epochMicros = isoFormatter ? IsoDateTimeParser.parseEpochMicros(dateTimeString) : IsoDateTimeParser.NOT_PARSED;
+        if (epochMicros != IsoDateTimeParser.NOT_PARSED) {
+            return epochMicros;
+        }
+        return toEpochMicros(parseInstant(dateTimeString));
+    }
+
+    @Override
+    protected Object parseDateTimeString(String dateTimeString) {
+        if (customConversion) {
+            // the subclass tells the strings it cannot parse by throwing
+            return super.parseDateTimeString(dateTimeString);
+        }
+        long epochMicros = isoFormatter ? IsoDateTimeParser.parseEpochMicros(dateTimeString) : IsoDateTimeParser.NOT_PARSED;
+        if (epochMicros != IsoDateTimeParser.NOT_PARSED) {
+            return epochMicros;
+        }
+        TemporalAccessor parsed = IsoDateTimeParser.parseFully(format, dateTimeString);
+        return parsed != null ? toEpochMicros(Instant.from(parsed)) : NOT_PARSED;
+    }
+
+    protected Instant parseInstant(String dateTimeString) {
+        return Instant.from(dateTimeFormatter.parse(dateTimeString));
+    }
+
+    private static long toEpochMicros(Instant instant) {
         // based on org.apache.avro.data.TimestampMicrosConversion
         long seconds = instant.getEpochSecond();
         int nanos = instant.getNano();
@@ -34,10 +71,6 @@ public class LongTimestampMicrosConverter extends AbstractLongDateTimeConverter
         }
     }
 
-    protected Instant parseInstant(String dateTimeString) {
-        return Instant.from(dateTimeFormatter.parse(dateTimeString));
-    }
-
     @Override
     protected LogicalType getLogicalType() {
         return LogicalTypes.timestampMicros();
@@ -3,21 +3,48 @@ package tech.allegro.schema.json2avro.converter.types;
 import org.apache.avro.LogicalType;
 import org.apache.avro.LogicalTypes;
 
+import java.text.Format;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 
 public class LongTimestampMillisConverter extends AbstractLongDateTimeConverter {
     public static final AvroTypeConverter INSTANCE = new LongTimestampMillisConverter(DateTimeFormatter.ISO_DATE_TIME);
 
     private final DateTimeFormatter dateTimeFormatter;
+    private final Format format;
+    private final boolean customParser;
+    private final boolean customConversion;
+    private final boolean isoFormatter;
 
     public LongTimestampMillisConverter(DateTimeFormatter dateTimeFormatter) {
         this.dateTimeFormatter = dateTimeFormatter;
+        this.format = dateTimeFormatter.toFormat();
+        this.customParser = Overrides.isOverridden(this, LongTimestampMillisConverter.class, "parseInstant", String.class);
+        this.customConversion = customParser
+                || Overrides.isOverridden(this, LongTimestampMillisConverter.class, "convertDateTimeString", String.class);
+        // strings are parsed by hand only when the parsing of a subclass would be skipped
+        this.isoFormatter = IsoDateTimeParser.isIsoTimestampFormatter(dateTimeFormatter) && !customParser;
     }
 
     @Override
     protected Object convertDateTimeString(String dateTimeString) {
-        return parseInstant(dateTimeString).toEpochMilli();
+        long millis = isoFormatter ? IsoDateTimeParser.parseEpochMillis(dateTimeString) : IsoDateTimeParser.NOT_PARSED;
+        return millis != IsoDateTimeParser.NOT_PARSED ? millis : parseInstant(dateTimeString).toEpochMilli();
+    }
+
+    @Override
+    protected Object parseDateTimeString(String dateTimeString) {
+        if (customConversion) {
+            // the subclass tells the strings it cannot parse by throwing
+            return super.parseDateTimeString(dateTimeString);
+        }
+        long millis = isoFormatter ? IsoDateTimeParser.parseEpochMillis(dateTimeString) : IsoDateTimeParser.NOT_PARSED;
+        if (millis != IsoDateTimeParser.NOT_PARSED) {
+            return millis;
+        }
+        TemporalAccessor parsed = IsoDateTimeParser.parseFully(format, dateTimeString);
+        return parsed != null ? Instant.from(parsed).toEpochMilli() : NOT_PARSED;
     }
 
     protected Instant parseInstant(String dateTimeString) {
@@ -1,6 +1,8 @@
 package tech.allegro.schema.json2avro.converter.types;
 
 import org.apache.avro.Schema;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 import tech.allegro.schema.json2avro.converter.JsonToAvroReader;
 
 import java.util.Deque;
@@ -18,10 +20,22 @@ public class MapConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Map>
     @SuppressWarnings("unchecked")
     @Override
     public Object convertValue(Schema.Field field, Schema schema, Map jsonValue, Deque<String> path, boolean silently) {
-        Map<String, Object> result = new HashMap<>(jsonValue.size());
-        ((Map<String, Object>)jsonValue).forEach((k, v) ->
-                result.put(k, this.recordRecord.read(field, schema.getValueType(), v, path, false))
-        );
+        Schema valueType = schema.getValueType();
+        Map<String, Object> result = newMap(jsonValue.size());
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) jsonValue).entrySet()) {
+            result.put(entry.getKey(), this.recordRecord.read(field, valueType, entry.getValue(), path, false));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object convertValue(ConversionPlan plan, Map jsonValue, ConversionContext context, boolean silently) {
+        ConversionPlan valuePlan = plan.getValuePlan();
+        Map<String, Object> result = newMap(jsonValue.size());
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) jsonValue).entrySet()) {
+            result.put(entry.getKey(), valuePlan.convert(entry.getValue(), context, false));
+        }
         return result;
     }
 
@@ -30,4 +44,11 @@ public class MapConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Map>
         return schema.getType().equals(Schema.Type.MAP);
     }
 
+    /**
+     * @return a map holding the entries without rehashing, its default load factor is 0.75
+     */
+    private static Map<String, Object> newMap(int entries) {
+        return new HashMap<>(entries * 4 / 3 + 1);
+    }
+
 }
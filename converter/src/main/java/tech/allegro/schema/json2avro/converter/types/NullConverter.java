@@ -6,6 +6,7 @@ import java.util.Deque;
 
 public class NullConverter implements AvroTypeConverter {
     public static final NullConverter INSTANCE = new NullConverter();
+    static final Incompatible INCOMPATIBLE = new Incompatible("NULL");
 
     private NullConverter() {
 
@@ -13,7 +14,7 @@ public class NullConverter implements AvroTypeConverter {
 
     @Override
     public Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
-        return jsonValue == null ? null : new Incompatible("NULL");
+        return jsonValue == null ? null : INCOMPATIBLE;
     }
 
     @Override
@@ -0,0 +1,23 @@
+package tech.allegro.schema.json2avro.converter.types;
+
+/**
+ * Tells whether subclasses of converters override their protected extension methods, so the converters can use
+ * faster paths which skip the methods only when they are not customized.
+ */
+public final class Overrides {
+
+    private Overrides() {
+    }
+
+    public static boolean isOverridden(Object instance, Class<?> base, String name, Class<?>... parameterTypes) {
+        for (Class<?> type = instance.getClass(); type != base; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not declared by this subclass, looking further up
+            }
+        }
+        return false;
+    }
+}
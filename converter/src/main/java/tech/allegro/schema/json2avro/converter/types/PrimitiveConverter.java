@@ -1,6 +1,8 @@
 package tech.allegro.schema.json2avro.converter.types;
 
 import org.apache.avro.Schema;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
@@ -11,19 +13,22 @@ import java.util.function.Function;
 public class PrimitiveConverter<T> extends AvroTypeConverterWithStrictJavaTypeCheck<T> {
     public final static AvroTypeConverter BOOLEAN = new PrimitiveConverter<>(Schema.Type.BOOLEAN, Boolean.class, bool -> bool);
     public final static AvroTypeConverter STRING = new PrimitiveConverter<>(Schema.Type.STRING, String.class, string -> string);
-    public final static AvroTypeConverter INT = new PrimitiveConverter<>(Schema.Type.INT, Number.class, Number::intValue);
-    public final static AvroTypeConverter LONG = new PrimitiveConverter<>(Schema.Type.LONG, Number.class, Number::longValue);
-    public final static AvroTypeConverter DOUBLE = new PrimitiveConverter<>(Schema.Type.DOUBLE, Number.class, Number::doubleValue);
-    public final static AvroTypeConverter FLOAT = new PrimitiveConverter<>(Schema.Type.FLOAT, Number.class, Number::floatValue);
+    public final static AvroTypeConverter INT = new PrimitiveConverter<>(Schema.Type.INT, Number.class, PrimitiveConverter::toInt);
+    public final static AvroTypeConverter LONG = new PrimitiveConverter<>(Schema.Type.LONG, Number.class, PrimitiveConverter::toLong);
+    public final static AvroTypeConverter DOUBLE = new PrimitiveConverter<>(Schema.Type.DOUBLE, Number.class, PrimitiveConverter::toDouble);
+    public final static AvroTypeConverter FLOAT = new PrimitiveConverter<>(Schema.Type.FLOAT, Number.class, PrimitiveConverter::toFloat);
     public final static AvroTypeConverter BYTES = new PrimitiveConverter<>(Schema.Type.BYTES, String.class, value -> ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8)));
 
     private final Schema.Type avroType;
     private final Function<T, Object> mapper;
+    private final boolean customConversion;
 
     protected PrimitiveConverter(Schema.Type avroType, Class<T> javaType, Function<T, Object> mapper) {
         super(javaType);
         this.avroType = avroType;
         this.mapper = mapper;
+        this.customConversion = Overrides.isOverridden(this, PrimitiveConverter.class,
+                "convertValue", Schema.Field.class, Schema.class, Object.class, Deque.class, boolean.class);
     }
 
     @Override
@@ -31,9 +36,39 @@ public class PrimitiveConverter<T> extends AvroTypeConverterWithStrictJavaTypeCh
         return mapper.apply(value);
     }
 
+    // the path is only asked for by subclasses overriding the conversion
+    @Override
+    public Object convertValue(ConversionPlan plan, T value, ConversionContext context, boolean silently) {
+        if (customConversion) {
+            return super.convertValue(plan, value, context, silently);
+        }
+        return mapper.apply(value);
+    }
+
+    Object map(T value) {
+        return mapper.apply(value);
+    }
+
     @Override
     public boolean canManage(Schema schema, Deque<String> path) {
         return schema.getType().equals(avroType);
     }
 
+    // json numbers already boxed as the avro type are returned as they are instead of being boxed again
+    static Object toInt(Number value) {
+        return value instanceof Integer ? value : Integer.valueOf(value.intValue());
+    }
+
+    static Object toLong(Number value) {
+        return value instanceof Long ? value : Long.valueOf(value.longValue());
+    }
+
+    static Object toDouble(Number value) {
+        return value instanceof Double ? value : Double.valueOf(value.doubleValue());
+    }
+
+    static Object toFloat(Number value) {
+        return value instanceof Float ? value : Float.valueOf(value.floatValue());
+    }
+
 }
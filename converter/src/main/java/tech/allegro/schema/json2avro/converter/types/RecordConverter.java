@@ -1,42 +1,141 @@
 package tech.allegro.schema.json2avro.converter.types;
 
+import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.Schema;
 import org.apache.avro.data.RecordBuilderBase;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecordBuilder;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 import tech.allegro.schema.json2avro.converter.PathsPrinter;
 import tech.allegro.schema.json2avro.converter.JsonToAvroReader;
 import tech.allegro.schema.json2avro.converter.UnknownFieldListener;
 
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
+/**
+ * Converts json objects to records. Along a conversion plan the values are put straight into a
+ * {@link GenericData.Record}, with the same validation and default values as {@link GenericRecordBuilder} but with
+ * the defaults read once per field, unless a subclass customizes the record builder.
+ */
 public class RecordConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Map> {
     private final JsonToAvroReader jsonToAvroReader;
     private final UnknownFieldListener unknownFieldListener;
+    private final boolean customBuilder;
 
     public RecordConverter(JsonToAvroReader jsonToAvroReader, UnknownFieldListener unknownFieldListener) {
         super(Map.class);
         this.jsonToAvroReader = jsonToAvroReader;
         this.unknownFieldListener = unknownFieldListener;
+        this.customBuilder = Overrides.isOverridden(this, RecordConverter.class, "createRecordBuilder", Schema.class)
+                || Overrides.isOverridden(this, RecordConverter.class, "setField",
+                RecordBuilderBase.class, Schema.Field.class, Object.class);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public Object convertValue(Schema.Field field, Schema schema, Map jsonValue, Deque<String> path, boolean silently) {
+        return convertRecord(schema, (Map<String, Object>) jsonValue,
+                (subField, value) -> this.jsonToAvroReader.read(subField, subField.schema(), value, path, false),
+                (key, value) -> onUnknownField(key, value, () -> PathsPrinter.print(path, key)));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Object convertValue(ConversionPlan plan, Map jsonValue, ConversionContext context, boolean silently) {
+        if (customBuilder) {
+            return convertRecord(plan.getSchema(), (Map<String, Object>) jsonValue,
+                    (subField, value) -> plan.getFieldPlan(subField).convert(value, context, false),
+                    (key, value) -> onUnknownField(plan, context, key, value));
+        }
+        RecordLayout layout = plan.getState(RecordLayout::new);
+        GenericData.Record record = new GenericData.Record(plan.getSchema());
+        boolean[] set = new boolean[layout.fields.length];
+        int next = 0;
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) jsonValue).entrySet()) {
+            String key = entry.getKey();
+            int position = layout.positionOf(key, next);
+            if (position >= 0) {
+                Schema.Field subField = layout.fields[position];
+                Object fieldValue;
+                try {
+                    fieldValue = plan.getFieldPlan(subField).convert(entry.getValue(), context, false);
+                } catch (TypeMismatchException e) {
+                    if (!context.collect(e)) {
+                        throw e;
+                    }
+                    // the field is left null in the partial record
+                    set[position] = true;
+                    next = position + 1;
+                    continue;
+                }
+                if (fieldValue == null && !layout.acceptsNull[position]) {
+                    throw new AvroRuntimeException("Field " + subField + " does not accept null values");
+                }
+                record.put(position, fieldValue);
+                set[position] = true;
+                next = position + 1;
+            } else {
+                onUnknownField(plan, context, key, entry.getValue());
+            }
+        }
+        layout.putDefaults(record, set, context);
+        return record;
+    }
+
+    private GenericData.Record convertRecord(Schema schema, Map<String, Object> jsonValue,
+                                             BiFunction<Schema.Field, Object, Object> fieldConverter,
+                                             BiConsumer<String, Object> unknownFieldHandler) {
         RecordBuilderBase<GenericData.Record> builder = createRecordBuilder(schema);
-        ((Map<String, Object>)jsonValue).forEach((key, value) -> {
+        jsonValue.forEach((key, value) -> {
             Schema.Field subField = schema.getField(key);
             if (subField != null) {
-                Object fieldValue = this.jsonToAvroReader.read(subField, subField.schema(), value, path, false);
+                Object fieldValue = fieldConverter.apply(subField, value);
                 setField(builder, subField, fieldValue);
-            } else if (unknownFieldListener != null) {
-                unknownFieldListener.onUnknownField(key, value, PathsPrinter.print(path, key));
+            } else {
+                unknownFieldHandler.accept(key, value);
             }
         });
         return builder.build();
     }
 
+    private void onUnknownField(ConversionPlan plan, ConversionContext context, String key, Object value) {
+        plan.getMetrics().onUnknownField(plan.getRootSchema(), key);
+        if (context.isReportingUnknownFields()) {
+            onUnknownField(key, value, () -> PathsPrinter.print(context.getPath(), key));
+        }
+    }
+
+    private void onUnknownField(String key, Object value, Supplier<String> path) {
+        if (unknownFieldListener != null) {
+            unknownFieldListener.onUnknownField(key, value, path);
+        }
+    }
+
+    /**
+     * @param path the path of the record missing the field
+     *
+     * @return the violation of a field without default value missing from a json object
+     */
+    public static TypeMismatchException missingFieldException(Deque<String> path, Schema.Field field) {
+        path.addLast(field.name());
+        try {
+            return new TypeMismatchException(path, field.schema().getType().getName(),
+                    printedPath -> "Field " + printedPath + " is missing and has no default value");
+        } finally {
+            path.removeLast();
+        }
+    }
+
+    public UnknownFieldListener getUnknownFieldListener() {
+        return unknownFieldListener;
+    }
+
     protected RecordBuilderBase<GenericData.Record> createRecordBuilder(Schema schema) {
         return new GenericRecordBuilder(schema);
     }
@@ -49,4 +148,97 @@ public class RecordConverter extends AvroTypeConverterWithStrictJavaTypeCheck<Ma
     public boolean canManage(Schema schema, Deque<String> path) {
         return schema.getType().equals(Schema.Type.RECORD);
     }
+
+    /**
+     * The fields of a record schema node with their default values, read once per node of a conversion plan.
+     * Default values which cannot be modified are shared by the records, the others are copied for every record
+     * like {@link GenericRecordBuilder} does.
+     */
+    private static final class RecordLayout {
+        private static final Object NO_DEFAULT = new Object();
+
+        private final Schema schema;
+        private final Schema.Field[] fields;
+        private final boolean[] acceptsNull;
+        private final Object[] defaults;
+        private final boolean[] copyDefaults;
+
+        RecordLayout(ConversionPlan plan) {
+            this.schema = plan.getSchema();
+            List<Schema.Field> schemaFields = schema.getFields();
+            this.fields = schemaFields.toArray(new Schema.Field[0]);
+            this.acceptsNull = new boolean[fields.length];
+            this.defaults = new Object[fields.length];
+            this.copyDefaults = new boolean[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                Schema.Field field = fields[i];
+                acceptsNull[i] = field.hasDefaultValue() || isNullable(field.schema());
+                defaults[i] = NO_DEFAULT;
+                if (field.hasDefaultValue()) {
+                    try {
+                        Object value = GenericData.get().getDefaultValue(field);
+                        defaults[i] = value;
+                        copyDefaults[i] = !isImmutable(value);
+                    } catch (AvroRuntimeException e) {
+                        // reported when a record is missing the field, like the record builder does
+                    }
+                }
+            }
+        }
+
+        int positionOf(String key, int next) {
+            // json objects usually follow the order of the schema
+            if (next < fields.length && fields[next].name().equals(key)) {
+                return next;
+            }
+            Schema.Field field = schema.getField(key);
+            return field == null ? -1 : field.pos();
+        }
+
+        void putDefaults(GenericData.Record record, boolean[] set, ConversionContext context) {
+            for (int i = 0; i < fields.length; i++) {
+                if (set[i]) {
+                    continue;
+                }
+                Object value = defaults[i];
+                if (value == NO_DEFAULT) {
+                    if (collectMissing(context, fields[i])) {
+                        continue;
+                    }
+                    // throws the same exception as the record builder, the field has no valid default value
+                    value = GenericData.get().getDefaultValue(fields[i]);
+                }
+                if (copyDefaults[i]) {
+                    value = GenericData.get().deepCopy(fields[i].schema(), value);
+                }
+                if (value != null) {
+                    record.put(i, value);
+                }
+            }
+        }
+
+        private static boolean collectMissing(ConversionContext context, Schema.Field field) {
+            return context.collect(missingFieldException(context.getPath(), field));
+        }
+
+        private static boolean isNullable(Schema schema) {
+            if (schema.getType() == Schema.Type.NULL) {
+                return true;
+            }
+            if (schema.getType() == Schema.Type.UNION) {
+                for (Schema type : schema.getTypes()) {
+                    if (type.getType() == Schema.Type.NULL) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static boolean isImmutable(Object value) {
+            return value == null || value instanceof String || value instanceof Boolean || value instanceof Integer
+                    || value instanceof Long || value instanceof Float || value instanceof Double
+                    || value instanceof GenericData.EnumSymbol;
+        }
+    }
 }
@@ -0,0 +1,125 @@
+package tech.allegro.schema.json2avro.converter.types;
+
+import org.apache.avro.Schema;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+
+/**
+ * Converts json numbers like {@link PrimitiveConverter} does, but rejects numbers which cannot be narrowed to the
+ * avro type without loss: fractions and out of range numbers for int and long, numbers overflowing to infinity for
+ * float and double. In unions such numbers are incompatible with the branch, so {@code ["int", "long"]} takes longs
+ * which do not fit in an int.
+ * <p>
+ * The converters override the default ones when added to {@link tech.allegro.schema.json2avro.converter.CompositeJsonToAvroReader}:
+ * <pre>
+ * new CompositeJsonToAvroReader(StrictNumberConverter.ALL)
+ * </pre>
+ */
+public class StrictNumberConverter extends PrimitiveConverter<Number> {
+    public final static AvroTypeConverter INT = new StrictNumberConverter(Schema.Type.INT, PrimitiveConverter::toInt, StrictNumberConverter::isExactInt);
+    public final static AvroTypeConverter LONG = new StrictNumberConverter(Schema.Type.LONG, PrimitiveConverter::toLong, StrictNumberConverter::isExactLong);
+    public final static AvroTypeConverter DOUBLE = new StrictNumberConverter(Schema.Type.DOUBLE, PrimitiveConverter::toDouble, StrictNumberConverter::isFiniteDouble);
+    public final static AvroTypeConverter FLOAT = new StrictNumberConverter(Schema.Type.FLOAT, PrimitiveConverter::toFloat, StrictNumberConverter::isFiniteFloat);
+    public final static List<AvroTypeConverter> ALL = Arrays.asList(INT, LONG, DOUBLE, FLOAT);
+
+    private final String avroTypeName;
+    private final Incompatible incompatible;
+    private final Predicate<Number> exact;
+
+    private StrictNumberConverter(Schema.Type avroType, Function<Number, Object> mapper, Predicate<Number> exact) {
+        super(avroType, Number.class, mapper);
+        this.avroTypeName = avroType.getName();
+        this.incompatible = new Incompatible(avroTypeName);
+        this.exact = exact;
+    }
+
+    @Override
+    public Object convertValue(Schema.Field field, Schema schema, Number value, Deque<String> path, boolean silently) {
+        if (exact.test(value)) {
+            return super.convertValue(field, schema, value, path, silently);
+        }
+        return notExact(value, path, silently);
+    }
+
+    @Override
+    public Object convertValue(ConversionPlan plan, Number value, ConversionContext context, boolean silently) {
+        if (exact.test(value)) {
+            return map(value);
+        }
+        return silently ? incompatible : notExact(value, context.getPath(), false);
+    }
+
+    private Object notExact(Number value, Deque<String> path, boolean silently) {
+        if (silently) {
+            return incompatible;
+        }
+        throw new TypeMismatchException(path, avroTypeName,
+                printedPath -> "Field " + printedPath + " is expected to be type: " + avroTypeName
+                        + ", but " + value + " cannot be converted without loss");
+    }
+
+    /**
+     * @return true if the floating point number has no fraction and fits in an int
+     */
+    public static boolean isExactInt(double value) {
+        return value == Math.rint(value) && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return true if the floating point number has no fraction and fits in a long
+     */
+    public static boolean isExactLong(double value) {
+        return value == Math.rint(value) && value >= -0x1p63 && value < 0x1p63;
+    }
+
+    private static boolean isExactInt(Number value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        } else if (value instanceof Long) {
+            return value.longValue() == value.intValue();
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).bitLength() < Integer.SIZE;
+        } else if (value instanceof BigDecimal) {
+            return isExact((BigDecimal) value, Integer.SIZE);
+        }
+        return isExactInt(value.doubleValue());
+    }
+
+    private static boolean isExactLong(Number value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).bitLength() < Long.SIZE;
+        } else if (value instanceof BigDecimal) {
+            return isExact((BigDecimal) value, Long.SIZE);
+        }
+        return isExactLong(value.doubleValue());
+    }
+
+    private static boolean isExact(BigDecimal value, int size) {
+        try {
+            return value.toBigIntegerExact().bitLength() < size;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    // infinite floating point numbers are not narrowed, they were given as infinities
+    private static boolean isFiniteDouble(Number value) {
+        return value instanceof Double || value instanceof Float || !Double.isInfinite(value.doubleValue());
+    }
+
+    private static boolean isFiniteFloat(Number value) {
+        return value instanceof Float || !Float.isInfinite(value.floatValue())
+                || value instanceof Double && Double.isInfinite(value.doubleValue());
+    }
+}
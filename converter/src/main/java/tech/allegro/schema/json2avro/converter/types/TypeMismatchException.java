@@ -0,0 +1,73 @@
+package tech.allegro.schema.json2avro.converter.types;
+
+import org.apache.avro.AvroTypeException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
+import static tech.allegro.schema.json2avro.converter.PathsPrinter.print;
+
+/**
+ * Thrown by the converters for json values which do not match the schema.
+ * <p>
+ * Unions catch these exceptions to try their next branch, so most of them are never reported: the stack trace is not
+ * filled in and the message is printed from the path of the value only when it is read. The exception is wrapped in an
+ * {@link tech.allegro.schema.json2avro.converter.AvroConversionException} which has the stack trace of the caller.
+ */
+public class TypeMismatchException extends AvroTypeException {
+    private final Deque<String> path;
+    private final String expected;
+    private final Function<String, String> messageOfPath;
+    private volatile String message;
+
+    /**
+     * @param path the path of the value, copied as the converters keep changing it
+     * @param messageOfPath prints the message from the dot separated path
+     */
+    public TypeMismatchException(Deque<String> path, Function<String, String> messageOfPath) {
+        this(path, null, messageOfPath);
+    }
+
+    /**
+     * @param path the path of the value, copied as the converters keep changing it
+     * @param expected what the schema expects at the path
+     * @param messageOfPath prints the message from the dot separated path
+     */
+    public TypeMismatchException(Deque<String> path, String expected, Function<String, String> messageOfPath) {
+        super(null);
+        this.path = new ArrayDeque<>(path);
+        this.expected = expected;
+        this.messageOfPath = messageOfPath;
+    }
+
+    /**
+     * @return the dot separated path of the value
+     */
+    public String getPath() {
+        return print(path);
+    }
+
+    /**
+     * @return what the schema expects at the path, like the java type of the json value or the symbols of an enum,
+     * {@code null} if it is not known
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    @Override
+    public String getMessage() {
+        String result = message;
+        if (result == null) {
+            result = messageOfPath.apply(getPath());
+            message = result;
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -3,6 +3,8 @@ package tech.allegro.schema.json2avro.converter.types;
 import org.apache.avro.AvroRuntimeException;
 import org.apache.avro.AvroTypeException;
 import org.apache.avro.Schema;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
 import tech.allegro.schema.json2avro.converter.JsonToAvroReader;
 import tech.allegro.schema.json2avro.converter.PathsPrinter;
 
@@ -11,7 +13,6 @@ import java.util.Deque;
 import java.util.List;
 
 import static java.util.stream.Collectors.joining;
-import static tech.allegro.schema.json2avro.converter.PathsPrinter.print;
 
 public class UnionConverter implements AvroTypeConverter {
     private final JsonToAvroReader jsonToAvroReader;
@@ -40,16 +41,46 @@ public class UnionConverter implements AvroTypeConverter {
         throw unionException(field.name(), String.join(", ", incompatibleTypes), path);
     }
 
+    @Override
+    public Object convert(ConversionPlan plan, Object jsonValue, ConversionContext context, boolean silently) {
+        UnionResolver resolver = plan.getState(UnionResolver::new);
+        // a violation inside a branch rejects the branch, as without collecting violations
+        ConversionContext branchContext = context.withoutCollecting();
+        String[] incompatibleTypes = null;
+        int tried = 0;
+        for (int branch : resolver.candidates(jsonValue)) {
+            if (!resolver.mayMatch(branch, jsonValue)) {
+                continue;
+            }
+            tried++;
+            try {
+                Object nestedValue = plan.getBranchPlan(branch).convert(jsonValue, branchContext, true);
+                if (!(nestedValue instanceof Incompatible)) {
+                    plan.getMetrics().onUnions(plan.getRootSchema(), 1, tried);
+                    return nestedValue;
+                }
+                if (incompatibleTypes == null) {
+                    incompatibleTypes = new String[resolver.branches()];
+                }
+                incompatibleTypes[branch] = ((Incompatible) nestedValue).expected;
+            } catch (AvroRuntimeException e) {
+                // thrown only for union of more complex types like records
+                continue;
+            }
+        }
+        throw unionException(plan.getField().name(), resolver.expectedTypes(jsonValue, incompatibleTypes), context.getPath());
+    }
+
     @Override
     public boolean canManage(Schema schema, Deque<String> path) {
         return schema.getType().equals(Schema.Type.UNION);
     }
 
     private static AvroTypeException unionException(String fieldName, String expectedTypes, Deque<String> offendingPath) {
-        return new AvroTypeException("Could not evaluate union, field " +
+        return new TypeMismatchException(offendingPath, expectedTypes, printedPath -> "Could not evaluate union, field " +
                 fieldName +
                 " is expected to be one of these: " +
                 expectedTypes +
-                ". If this is a complex type, check if offending field: " + print(offendingPath) + " adheres to schema.");
+                ". If this is a complex type, check if offending field: " + printedPath + " adheres to schema.");
     }
 }
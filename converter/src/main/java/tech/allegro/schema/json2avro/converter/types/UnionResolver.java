@@ -0,0 +1,192 @@
+package tech.allegro.schema.json2avro.converter.types;
+
+import org.apache.avro.Schema;
+import tech.allegro.schema.json2avro.converter.ConversionContext;
+import tech.allegro.schema.json2avro.converter.ConversionPlan;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Branches of a union which may accept a json value, precomputed per kind of json value (null, boolean, number,
+ * string, object and array) from the converters resolved for the branches.
+ * <p>
+ * A branch is left out only when its converter is known to return {@link AvroTypeConverter.Incompatible} or to throw
+ * an {@link org.apache.avro.AvroRuntimeException} for the value, so trying the candidates in order gives the same
+ * branch as trying every branch. Record branches are also left out for json objects missing one of their fields
+ * without default value, and enum branches without a default symbol for strings which are not one of their symbols.
+ * <p>
+ * The types expected by the branches left out for a kind of json value are known too, so a value no branch accepts
+ * is reported without converting it again with every branch.
+ */
+final class UnionResolver {
+    private static final int NULL = 0;
+    private static final int BOOLEAN = 1;
+    private static final int NUMBER = 2;
+    private static final int STRING = 3;
+    private static final int OBJECT = 4;
+    private static final int ARRAY = 5;
+    private static final int OTHER = 6;
+    private static final Class<?>[] KIND_TYPES = {null, Boolean.class, Number.class, String.class, Map.class, Collection.class};
+
+    private static final Set<Class<?>> DATE_TIME_CONVERTERS = Set.of(
+            IntDateConverter.class,
+            IntTimeMillisConverter.class,
+            LongTimeMicrosConverter.class,
+            LongTimestampMillisConverter.class,
+            LongTimestampMicrosConverter.class);
+
+    private final int[][] candidates = new int[OTHER + 1][];
+    private final String[][] leftOutExpectedTypes = new String[OTHER + 1][];
+    private final String[][] requiredFields;
+    private final Schema[] enumSchemas;
+
+    UnionResolver(ConversionPlan union) {
+        int branches = union.getSchema().getTypes().size();
+        requiredFields = new String[branches][];
+        enumSchemas = new Schema[branches];
+        List<List<Integer>> byKind = new ArrayList<>();
+        for (int kind = 0; kind <= OTHER; kind++) {
+            byKind.add(new ArrayList<>());
+            leftOutExpectedTypes[kind] = new String[branches];
+        }
+        for (int i = 0; i < branches; i++) {
+            ConversionPlan branch = union.getBranchPlan(i);
+            AvroTypeConverter converter = branch.getConverter();
+            if (converter == null) {
+                continue;
+            }
+            for (int kind = 0; kind <= OTHER; kind++) {
+                if (mayAccept(converter, kind)) {
+                    byKind.get(kind).add(i);
+                } else {
+                    leftOutExpectedTypes[kind][i] = expectedType(converter);
+                }
+            }
+            if (converter.getClass() == RecordConverter.class) {
+                requiredFields[i] = branch.getSchema().getFields().stream()
+                        .filter(field -> !field.hasDefaultValue())
+                        .map(Schema.Field::name)
+                        .toArray(String[]::new);
+            } else if (converter == EnumConverter.INSTANCE && branch.getSchema().getEnumDefault() == null) {
+                enumSchemas[i] = branch.getSchema();
+            }
+        }
+        for (int kind = 0; kind <= OTHER; kind++) {
+            candidates[kind] = byKind.get(kind).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * @return the indexes of the branches which may accept the json value, in the order of the union
+     */
+    int[] candidates(Object jsonValue) {
+        return candidates[kindOf(jsonValue)];
+    }
+
+    /**
+     * @return false if the candidate branch cannot accept the json value
+     */
+    boolean mayMatch(int branch, Object jsonValue) {
+        String[] fields = requiredFields[branch];
+        if (fields != null) {
+            if (!(jsonValue instanceof Map)) {
+                // values of other kinds are candidates of every branch, the converter tells whether they match
+                return true;
+            }
+            Map<?, ?> json = (Map<?, ?>) jsonValue;
+            for (String field : fields) {
+                if (!json.containsKey(field)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        Schema enumSchema = enumSchemas[branch];
+        return enumSchema == null || !(jsonValue instanceof String) || enumSchema.hasEnumSymbol((String) jsonValue);
+    }
+
+    /**
+     * @param incompatibleTypes the types expected by the candidates which were tried and found the value incompatible,
+     * indexed by branch, {@code null} if there were none
+     *
+     * @return the types expected by the branches, in the order of the union, the same as reported by converting the
+     * value with every branch
+     */
+    String expectedTypes(Object jsonValue, String[] incompatibleTypes) {
+        String[] leftOut = leftOutExpectedTypes[kindOf(jsonValue)];
+        StringJoiner expectedTypes = new StringJoiner(", ");
+        for (int i = 0; i < leftOut.length; i++) {
+            String expected = incompatibleTypes != null && incompatibleTypes[i] != null ? incompatibleTypes[i] : leftOut[i];
+            if (expected != null) {
+                expectedTypes.add(expected);
+            }
+        }
+        return expectedTypes.toString();
+    }
+
+    int branches() {
+        return requiredFields.length;
+    }
+
+    private static int kindOf(Object jsonValue) {
+        if (jsonValue == null) {
+            return NULL;
+        } else if (jsonValue instanceof Boolean) {
+            return BOOLEAN;
+        } else if (jsonValue instanceof Number) {
+            return NUMBER;
+        } else if (jsonValue instanceof String) {
+            return STRING;
+        } else if (jsonValue instanceof Map) {
+            return OBJECT;
+        } else if (jsonValue instanceof Collection) {
+            return ARRAY;
+        }
+        return OTHER;
+    }
+
+    private static boolean mayAccept(AvroTypeConverter converter, int kind) {
+        if (kind == OTHER) {
+            return true;
+        } else if (converter == NullConverter.INSTANCE) {
+            return kind == NULL;
+        } else if (DATE_TIME_CONVERTERS.contains(converter.getClass())) {
+            return kind == STRING || kind == NUMBER;
+        } else if (checksJavaType(converter)) {
+            Class<?> javaType = ((AvroTypeConverterWithStrictJavaTypeCheck<?>) converter).getJavaType();
+            Class<?> kindType = KIND_TYPES[kind];
+            return kindType != null && (javaType.isAssignableFrom(kindType) || kindType.isAssignableFrom(javaType));
+        }
+        return true;
+    }
+
+    /**
+     * @return the type reported by the converter for the values of the kinds it does not accept
+     */
+    private static String expectedType(AvroTypeConverter converter) {
+        if (converter == NullConverter.INSTANCE) {
+            return NullConverter.INCOMPATIBLE.expected;
+        } else if (converter instanceof AbstractDateTimeConverter) {
+            return ((AbstractDateTimeConverter) converter).incompatible().expected;
+        }
+        return ((AvroTypeConverterWithStrictJavaTypeCheck<?>) converter).incompatible().expected;
+    }
+
+    private static boolean checksJavaType(AvroTypeConverter converter) {
+        if (!(converter instanceof AvroTypeConverterWithStrictJavaTypeCheck)) {
+            return false;
+        }
+        try {
+            return converter.getClass()
+                    .getMethod("convert", ConversionPlan.class, Object.class, ConversionContext.class, boolean.class)
+                    .getDeclaringClass() == AvroTypeConverterWithStrictJavaTypeCheck.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
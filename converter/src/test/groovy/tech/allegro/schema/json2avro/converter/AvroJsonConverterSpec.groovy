@@ -63,4 +63,52 @@ class AvroJsonConverterSpec extends BaseConverterSpec {
         then:
             toMap(result).customString == 133
     }
+
+    def "should convert avro written with older schema to json of the reader schema"() {
+        given:
+            def writerSchema = '''
+                {
+                  "type" : "record",
+                  "name" : "User",
+                  "fields" : [
+                      { "name" : "name", "type" : "string" },
+                      { "name" : "age", "type" : "int" },
+                      { "name" : "removed", "type" : "string" }
+                  ]
+                }
+            '''
+            def readerSchema = '''
+                {
+                  "type" : "record",
+                  "name" : "User",
+                  "fields" : [
+                      { "name" : "name", "type" : "string" },
+                      { "name" : "email", "type" : ["null", "string"], "default" : null },
+                      { "name" : "age", "type" : "long" }
+                  ]
+                }
+            '''
+            def avro = avroConverter.convertToAvro('{"name": "Bob", "age": 50, "removed": "x"}'.bytes, writerSchema)
+
+        when:
+            def results = (1..2).collect { new String(jsonConverter.convertToJson(avro, writerSchema, readerSchema)) }
+
+        then:
+            results == ['{"name":"Bob","email":null,"age":50}'] * 2
+    }
+
+    def "should convert avro with equal writer and reader schemas"() {
+        given:
+            def schema = '''
+                {
+                  "type" : "record",
+                  "name" : "User",
+                  "fields" : [ { "name" : "name", "type" : "string" } ]
+                }
+            '''
+            def avro = avroConverter.convertToAvro('{"name": "Bob"}'.bytes, schema)
+
+        expect:
+            new String(jsonConverter.convertToJson(avro, new Schema.Parser().parse(schema), new Schema.Parser().parse(schema))) == '{"name":"Bob"}'
+    }
 }
@@ -0,0 +1,127 @@
+package tech.allegro.schema.json2avro.converter
+
+import org.apache.avro.Schema
+import org.apache.avro.generic.GenericData
+import org.apache.avro.generic.GenericDatumWriter
+import org.apache.avro.generic.GenericRecord
+import org.apache.avro.io.NoWrappingJsonEncoder
+import tech.allegro.schema.json2avro.converter.conversions.DecimalAsStringConversion
+
+import java.nio.ByteBuffer
+
+class AvroToJsonWriterSpec extends BaseConverterSpec {
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_string", "type" : "string" },
+                  { "name" : "field_int", "type" : "int" },
+                  { "name" : "field_long", "type" : "long" },
+                  { "name" : "field_float", "type" : "float" },
+                  { "name" : "field_double", "type" : "double" },
+                  { "name" : "field_boolean", "type" : "boolean" },
+                  { "name" : "field_null", "type" : "null" },
+                  { "name" : "field_bytes", "type" : "bytes" },
+                  { "name" : "field_fixed", "type" : { "type" : "fixed", "name" : "Pair", "size" : 2 } },
+                  { "name" : "field_enum", "type" : { "type" : "enum", "name" : "Kind", "symbols" : ["A", "B"] } },
+                  { "name" : "field_array", "type" : { "type" : "array", "items" : ["null", "int"] } },
+                  { "name" : "field_map", "type" : { "type" : "map", "values" : "string" } },
+                  { "name" : "field_union", "type" : ["null", "string", "Kind"] },
+                  {
+                    "name" : "field_decimal",
+                    "type" : { "type" : "bytes", "logicalType" : "decimal", "precision" : 6, "scale" : 2 }
+                  },
+                  {
+                    "name" : "field_children",
+                    "type" : {
+                      "type" : "array",
+                      "items" : {
+                        "type" : "record",
+                        "name" : "Node",
+                        "fields" : [
+                            { "name" : "name", "type" : "string" },
+                            { "name" : "children", "type" : { "type" : "array", "items" : "Node" } }
+                        ]
+                      }
+                    }
+                  }
+              ]
+            }
+        ''')
+
+    def "should write the same json as the json encoder"() {
+        given:
+        def converter = new AvroJsonConverter(DecimalAsStringConversion.INSTANCE)
+        def genericData = new GenericData()
+        genericData.addLogicalTypeConversion(DecimalAsStringConversion.INSTANCE)
+
+        and:
+        GenericRecord record = new GenericData.Record(schema)
+        record.put("field_string", 'quote " and żółć')
+        record.put("field_int", 1)
+        record.put("field_long", Long.MAX_VALUE)
+        record.put("field_float", 1.5f)
+        record.put("field_double", Double.NaN)
+        record.put("field_boolean", true)
+        record.put("field_null", null)
+        record.put("field_bytes", ByteBuffer.wrap([0, 127, -1] as byte[]))
+        record.put("field_fixed", new GenericData.Fixed(schema.getField("field_fixed").schema(), [1, 2] as byte[]))
+        record.put("field_enum", new GenericData.EnumSymbol(schema.getField("field_enum").schema(), "B"))
+        record.put("field_array", [1, null, 3])
+        record.put("field_map", [first: "1", second: "2"])
+        record.put("field_union", unionValue)
+        record.put("field_decimal", "1234.56")
+        record.put("field_children", [node("root", [node("leaf", [])])])
+
+        expect:
+        new String(converter.convertToJson(record)) == encode(record, genericData)
+
+        where:
+        unionValue << [null, "foo", new GenericData.EnumSymbol(new Schema.Parser().parse('{"type":"enum","name":"Kind","symbols":["A","B"]}'), "A")]
+    }
+
+    def "should write json of records converted one after another"() {
+        given:
+        def records = (1..3).collect { avroConverter.convertToGenericDataRecord("""{"name": "node $it", "children": []}""".bytes, nodeSchema()) }
+
+        expect:
+        records.collect { new String(jsonConverter.convertToJson(it)) } ==
+                (1..3).collect { """{"name":"node $it","children":[]}""".toString() }
+    }
+
+    def "should report records not matching the schema like the json encoder"() {
+        given:
+        GenericRecord record = new GenericData.Record(nodeSchema())
+        record.put("children", [])
+
+        when:
+        jsonConverter.convertToJson(record)
+
+        then:
+        thrown(NullPointerException)
+
+        and:
+        new String(jsonConverter.convertToJson(node("valid", []))) == '{"name":"valid","children":[]}'
+    }
+
+    private GenericRecord node(String name, List<GenericRecord> children) {
+        GenericRecord node = new GenericData.Record(nodeSchema())
+        node.put("name", name)
+        node.put("children", children)
+        node
+    }
+
+    private Schema nodeSchema() {
+        schema.getField("field_children").schema().elementType
+    }
+
+    private static String encode(GenericRecord record, GenericData genericData) {
+        def output = new ByteArrayOutputStream()
+        def encoder = new NoWrappingJsonEncoder(record.schema, output)
+        new GenericDatumWriter<GenericRecord>(record.schema, genericData).write(record, encoder)
+        encoder.flush()
+        new String(output.toByteArray())
+    }
+}
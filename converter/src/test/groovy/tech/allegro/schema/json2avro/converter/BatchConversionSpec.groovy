@@ -0,0 +1,95 @@
+package tech.allegro.schema.json2avro.converter
+
+import org.apache.avro.Schema
+import org.apache.avro.file.CodecFactory
+import org.apache.avro.file.DataFileStream
+import org.apache.avro.generic.GenericDatumReader
+import org.apache.avro.generic.GenericRecord
+
+class BatchConversionSpec extends BaseConverterSpec {
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_integer", "type" : "int" },
+                  { "name" : "field_string", "type" : ["null", "string"], "default": null }
+              ]
+            }
+        ''')
+
+    def documents = (1..1000).collect { """{"field_integer": $it, "field_string": "value $it"}""".toString().bytes }
+
+    def "should convert json documents to avro file"() {
+        given:
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        def written = avroConverter.convertToAvroFile(documents, schema, outputStream, codec, 1024)
+        def records = readAvroFile(outputStream.toByteArray())
+
+        then:
+        written == 1000
+        records.size() == 1000
+        records[0].get("field_integer") == 1
+        records[999].get("field_string").toString() == "value 1000"
+
+        where:
+        codec << [CodecFactory.nullCodec(), CodecFactory.deflateCodec(6)]
+    }
+
+    def "should convert newline delimited json to avro file"() {
+        given:
+        def ndjson = '{"field_integer": 1}\r\n\n  \n{"field_integer": 2, "field_string": "foo"}\n{"field_integer": 3}'
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        def written = avroConverter.convertNdjsonToAvroFile(new ByteArrayInputStream(ndjson.bytes), schema, outputStream)
+
+        then:
+        written == 3
+        readAvroFile(outputStream.toByteArray()).collect { it.get("field_integer") } == [1, 2, 3]
+    }
+
+    def "should read newline delimited json longer than read chunk"() {
+        given:
+        def longString = "x" * 200_000
+        def ndjson = """{"field_integer": 1, "field_string": "$longString"}\n{"field_integer": 2}\n"""
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        avroConverter.convertNdjsonToAvroFile(new ByteArrayInputStream(ndjson.bytes), schema, outputStream)
+        def records = readAvroFile(outputStream.toByteArray())
+
+        then:
+        records.size() == 2
+        records[0].get("field_string").toString() == longString
+    }
+
+    def "should convert json documents to records"() {
+        when:
+        def records = avroConverter.convertToGenericDataRecords(documents, schema)
+
+        then:
+        records.size() == 1000
+        records.every { it.schema.is(schema) }
+        records[499].get("field_integer") == 500
+    }
+
+    def "should report index of invalid document"() {
+        given:
+        def invalidDocuments = [documents[0], '{"field_integer": "foo"}'.bytes]
+
+        when:
+        avroConverter.convertToAvroFile(invalidDocuments, schema, new ByteArrayOutputStream())
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to convert json document 1 of the batch: Failed to convert JSON to Avro: Field field_integer is expected to be type: java.lang.Number"
+    }
+
+    private static List<GenericRecord> readAvroFile(byte[] avroFile) {
+        new DataFileStream<GenericRecord>(new ByteArrayInputStream(avroFile), new GenericDatumReader<GenericRecord>()).collect()
+    }
+}
@@ -0,0 +1,104 @@
+package tech.allegro.schema.json2avro.converter
+
+import org.apache.avro.Conversion
+import org.apache.avro.Schema
+import org.apache.avro.generic.GenericData
+import org.apache.avro.generic.GenericDatumReader
+import org.apache.avro.generic.GenericDatumWriter
+import org.apache.avro.generic.GenericRecord
+import org.apache.avro.io.DecoderFactory
+import org.apache.avro.io.EncoderFactory
+import org.apache.avro.io.NoWrappingJsonEncoder
+import tech.allegro.schema.json2avro.converter.conversions.DecimalAsStringConversion
+
+import java.nio.ByteBuffer
+
+class BinaryAvroToJsonTranscoderSpec extends BaseConverterSpec {
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_string", "type" : "string" },
+                  { "name" : "field_int", "type" : "int" },
+                  { "name" : "field_long", "type" : "long" },
+                  { "name" : "field_float", "type" : "float" },
+                  { "name" : "field_double", "type" : "double" },
+                  { "name" : "field_boolean", "type" : "boolean" },
+                  { "name" : "field_bytes", "type" : "bytes" },
+                  { "name" : "field_fixed", "type" : { "type" : "fixed", "name" : "Pair", "size" : 2 } },
+                  { "name" : "field_enum", "type" : { "type" : "enum", "name" : "Kind", "symbols" : ["A", "B"] } },
+                  { "name" : "field_array", "type" : { "type" : "array", "items" : ["null", "int"] } },
+                  { "name" : "field_map", "type" : { "type" : "map", "values" : "string" } },
+                  {
+                    "name" : "field_decimal",
+                    "type" : ["null", { "type" : "bytes", "logicalType" : "decimal", "precision" : 6, "scale" : 2 }]
+                  },
+                  { "name" : "field_time", "type" : { "type" : "int", "logicalType" : "time-millis" } }
+              ]
+            }
+        ''')
+
+    def "should transcode binary avro to the same json as the decoded record"() {
+        given:
+        def converter = new AvroJsonConverter(conversions as Conversion[])
+        def avro = encode(record())
+
+        expect:
+        new String(converter.convertToJson(avro, schema)) == decodeAndEncode(avro, conversions)
+
+        where:
+        conversions << [[], [DecimalAsStringConversion.INSTANCE]]
+    }
+
+    def "should report truncated binary avro like the datum reader"() {
+        given:
+        def avro = encode(record())
+
+        when:
+        jsonConverter.convertToJson(Arrays.copyOf(avro, avro.length - 3), schema)
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to create avro structure."
+    }
+
+    private GenericRecord record() {
+        GenericRecord record = new GenericData.Record(schema)
+        record.put("field_string", 'quote " and żółć')
+        record.put("field_int", -1)
+        record.put("field_long", Long.MIN_VALUE)
+        record.put("field_float", 0.1f)
+        record.put("field_double", 1e300d)
+        record.put("field_boolean", false)
+        record.put("field_bytes", ByteBuffer.wrap([0, 127, -1] as byte[]))
+        record.put("field_fixed", new GenericData.Fixed(schema.getField("field_fixed").schema(), [1, 2] as byte[]))
+        record.put("field_enum", new GenericData.EnumSymbol(schema.getField("field_enum").schema(), "B"))
+        record.put("field_array", [1, null, 3])
+        record.put("field_map", [first: "1", second: "żółć"])
+        record.put("field_decimal", ByteBuffer.wrap(new BigInteger("123456").toByteArray()))
+        record.put("field_time", 1000)
+        record
+    }
+
+    private byte[] encode(GenericRecord record) {
+        def output = new ByteArrayOutputStream()
+        def encoder = EncoderFactory.get().binaryEncoder(output, null)
+        new GenericDatumWriter<GenericRecord>(schema).write(record, encoder)
+        encoder.flush()
+        output.toByteArray()
+    }
+
+    private String decodeAndEncode(byte[] avro, List conversions) {
+        def genericData = new GenericData()
+        conversions.each { genericData.addLogicalTypeConversion(it) }
+        GenericRecord record = new GenericDatumReader<GenericRecord>(schema, schema, genericData)
+                .read(null, DecoderFactory.get().binaryDecoder(avro, null))
+        def output = new ByteArrayOutputStream()
+        def encoder = new NoWrappingJsonEncoder(schema, output)
+        new GenericDatumWriter<GenericRecord>(schema, genericData).write(record, encoder)
+        encoder.flush()
+        new String(output.toByteArray())
+    }
+}
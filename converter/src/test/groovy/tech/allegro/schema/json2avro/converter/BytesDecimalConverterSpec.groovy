@@ -1,8 +1,12 @@
 package tech.allegro.schema.json2avro.converter
 
 import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.avro.Conversions
 import org.apache.avro.Schema
 import org.apache.avro.generic.GenericData
+import org.apache.avro.generic.GenericDatumReader
+import org.apache.avro.generic.GenericFixed
+import org.apache.avro.io.DecoderFactory
 import tech.allegro.schema.json2avro.converter.types.BytesDecimalConverter
 
 import java.math.RoundingMode
@@ -149,4 +153,124 @@ class BytesDecimalConverterSpec extends BaseConverterSpec {
         e.message == "Failed to convert JSON to Avro: Could not evaluate union, field byteDecimal is expected to be one of these: string number, decimal, NULL. If this is a complex type, check if offending field: byteDecimal adheres to schema."
     }
 
+    def "should convert json numbers and strings to the unscaled two's complement bytes"() {
+        given:
+        def json = """{ "byteDecimal": $value }"""
+
+        when:
+        GenericData.Record record = avroConverter.convertToGenericDataRecord(json.bytes, new Schema.Parser().parse(schema))
+
+        then:
+        ((ByteBuffer) record.get("byteDecimal")).array() == new BigDecimal(expected).setScale(5).unscaledValue().toByteArray()
+
+        where:
+        value                  | expected
+        '0'                    | '0'
+        '-1'                   | '-1'
+        '"+.5"'                | '0.5'
+        '"-0012.30"'           | '-12.3'
+        '1.0E5'                | '100000'
+        '"9999999999.99999"'   | '9999999999.99999'
+        '"-9999999999.99999"'  | '-9999999999.99999'
+    }
+
+    def "should throw error when decimal has higher precision than expected"() {
+        given:
+        def json = """{ "byteDecimal": $value }"""
+
+        when:
+        avroConverter.convertToGenericDataRecord(json.bytes, new Schema.Parser().parse(schema))
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to convert JSON to Avro: Field byteDecimal is expected to be a number with precision up to 15. current value: $current is number with precision 16."
+
+        where:
+        value                | current
+        '12345678901'        | '12345678901.00000'
+        '"-10000000000.5"'   | '-10000000000.50000'
+    }
+
+    def "should convert json numbers to avro decimal backed by fixed"() {
+        given:
+        def fixedSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  {
+                    "name" : "fixedDecimal",
+                    "type" : ["null", {
+                      "type" : "fixed",
+                      "name" : "Amount",
+                      "size" : 12,
+                      "logicalType" : "decimal",
+                      "precision": 28,
+                      "scale": 2
+                    }]
+                  }
+              ]
+            }
+        ''')
+        def json = """{ "fixedDecimal": $value }"""
+        def amountSchema = fixedSchema.getField("fixedDecimal").schema().types[1]
+
+        when:
+        GenericData.Record record = conversion.call(avroConverter, json.bytes, fixedSchema)
+
+        then:
+        new Conversions.DecimalConversion().fromFixed(record.get("fixedDecimal") as GenericFixed, amountSchema, amountSchema.logicalType) ==
+                new BigDecimal(value.replace('"', '')).setScale(2)
+
+        where:
+        value                               | conversion
+        '"-1.5"'                            | { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToGenericDataRecord(data, schema) }
+        '"12345678901234567890123456.78"'   | { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToGenericDataRecord(data, schema) }
+        '"-1.5"'                            | { JsonAvroConverter converter, byte[] data, Schema schema -> decode(converter.convertToAvro(data, schema), schema) }
+        '"12345678901234567890123456.78"'   | { JsonAvroConverter converter, byte[] data, Schema schema -> decode(converter.convertToAvro(data, schema), schema) }
+    }
+
+    def "should keep the result of a subclass overriding convertDecimal"() {
+        given:
+        def fixedSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "byteDecimal", "type" : { "type" : "bytes", "logicalType" : "decimal", "precision": 4, "scale": 2 } },
+                  {
+                    "name" : "fixedDecimal",
+                    "type" : { "type" : "fixed", "name" : "Amount", "size" : 4, "logicalType" : "decimal", "precision": 4, "scale": 2 }
+                  }
+              ]
+            }
+        ''')
+        def customConverter = new BytesDecimalConverter() {
+            @Override
+            protected Object convertDecimal(Object value, int scale, Deque<String> path) {
+                value == "raw" ? new BigDecimal("1.5") : ByteBuffer.wrap(new BigDecimal(value.toString()).setScale(scale, RoundingMode.DOWN).unscaledValue().toByteArray())
+            }
+        }
+        def converter = new JsonAvroConverter(new CompositeJsonToAvroReader(customConverter))
+        def amountSchema = fixedSchema.getField("fixedDecimal").schema()
+
+        when:
+        GenericData.Record record = converter.convertToGenericDataRecord('{ "byteDecimal": "raw", "fixedDecimal": "-12.349" }'.bytes, fixedSchema)
+
+        then:
+        record.get("byteDecimal") == new BigDecimal("1.5")
+        new Conversions.DecimalConversion().fromFixed(record.get("fixedDecimal") as GenericFixed, amountSchema, amountSchema.logicalType) ==
+                new BigDecimal("-12.34")
+
+        when:
+        converter.convertToGenericDataRecord('{ "byteDecimal": "raw", "fixedDecimal": "123.45" }'.bytes, fixedSchema)
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to convert JSON to Avro: Field fixedDecimal is expected to be a number with precision up to 4. current value: 123.45 is number with precision 5."
+    }
+
+    private static GenericData.Record decode(byte[] avro, Schema schema) {
+        new GenericDatumReader<GenericData.Record>(schema).read(null, DecoderFactory.get().binaryDecoder(avro, null))
+    }
 }
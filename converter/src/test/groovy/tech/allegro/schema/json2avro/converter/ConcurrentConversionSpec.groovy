@@ -0,0 +1,132 @@
+package tech.allegro.schema.json2avro.converter
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.avro.Schema
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ConcurrentConversionSpec extends Specification {
+
+    static final int THREADS = 16
+    static final int ITERATIONS = 300
+    static final int SCHEMAS = 6
+
+    static String schema(int index) {
+        """
+            {
+              "type" : "record",
+              "name" : "concurrent$index",
+              "fields" : [
+                  { "name" : "id", "type" : "long" },
+                  { "name" : "name", "type" : "string" },
+                  { "name" : "tags", "type" : { "type" : "array", "items" : "string" }, "default" : [] },
+                  { "name" : "counts", "type" : { "type" : "map", "values" : "int" }, "default" : {} },
+                  { "name" : "kind", "type" : { "type" : "enum", "name" : "Kind$index", "symbols" : ["A", "B"] } },
+                  {
+                    "name" : "nested",
+                    "type" : ["null", {
+                        "type" : "record",
+                        "name" : "Nested$index",
+                        "fields" : [ { "name" : "value", "type" : ["null", "double", "string"], "default" : null } ]
+                    }],
+                    "default" : null
+                  }
+              ]
+            }
+        """
+    }
+
+    static byte[] json(int index) {
+        """{"id": $index, "name": "name $index", "tags": ["a", "b$index"], "counts": {"c": $index},
+            "kind": "${index % 2 == 0 ? 'A' : 'B'}", "nested": {"value": ${index % 3 == 0 ? '"text"' : index * 1.5}}}""".toString().bytes
+    }
+
+    def "should convert concurrently with shared converters"() {
+        given:
+        // fewer cached schemas than schemas converted, so threads also parse and evict concurrently
+        def schemaCache = new SchemaCache(SCHEMAS.intdiv(2))
+        def converter = new JsonAvroConverter(new ObjectMapper(), new CompositeJsonToAvroReader(), schemaCache)
+        def jsonConverter = new AvroJsonConverter(schemaCache)
+        def expected = (0..<SCHEMAS).collect { i ->
+            def parsed = new Schema.Parser().parse(schema(i))
+            def single = new JsonAvroConverter()
+            def avro = single.convertToAvro(json(i), parsed)
+            [avro: avro, record: single.convertToGenericDataRecord(json(i), parsed),
+             json: new AvroJsonConverter().convertToJson(avro, parsed)]
+        }
+        def failures = new ConcurrentLinkedQueue<String>()
+
+        when:
+        runConcurrently { int thread, int iteration ->
+            int i = (thread + iteration) % SCHEMAS
+            def avro = converter.convertToAvro(json(i), schema(i))
+            def record = converter.convertToGenericDataRecord(json(i), schemaCache.parse(schema(i)))
+            def convertedJson = jsonConverter.convertToJson(avro, schema(i))
+            def valid = converter.validate(json(i), schema(i)).valid
+            if (avro != expected[i].avro || record != expected[i].record || convertedJson != expected[i].json || !valid) {
+                failures << "schema $i on thread $thread, iteration $iteration".toString()
+            }
+        }
+
+        then:
+        failures.empty
+        schemaCache.size() <= schemaCache.maximumSize
+    }
+
+    def "should report the violations of each document concurrently"() {
+        given:
+        def converter = new JsonAvroConverter()
+        def schemas = (0..<SCHEMAS).collect { new Schema.Parser().parse(schema(it)) }
+        def failures = new ConcurrentLinkedQueue<String>()
+
+        when:
+        runConcurrently { int thread, int iteration ->
+            int i = (thread + iteration) % SCHEMAS
+            def invalid = """{"id": "$thread", "name": $iteration, "kind": "A"}""".toString().bytes
+            def result = converter.convertCollectingViolations(invalid, schemas[i])
+            if (result.violations*.path != ['id', 'name']) {
+                failures << "schema $i on thread $thread: ${result.violations}".toString()
+            }
+        }
+
+        then:
+        failures.empty
+    }
+
+    def "should keep one instance of each schema parsed concurrently"() {
+        given:
+        def cache = new SchemaCache()
+        def parsed = new ConcurrentLinkedQueue<Schema>()
+
+        when:
+        runConcurrently { int thread, int iteration ->
+            parsed << cache.parse(schema(iteration % SCHEMAS))
+        }
+
+        then:
+        cache.size() == SCHEMAS
+        parsed.groupBy { it.name }.values().every { sameSchemas -> sameSchemas.every { it.is(sameSchemas[0]) } }
+        cache.hitCount + cache.missCount == THREADS * ITERATIONS
+    }
+
+    private static void runConcurrently(Closure task) {
+        def executor = Executors.newFixedThreadPool(THREADS)
+        def start = new CountDownLatch(1)
+        try {
+            def futures = (0..<THREADS).collect { int thread ->
+                executor.submit {
+                    start.await()
+                    ITERATIONS.times { int iteration -> task.call(thread, iteration) }
+                }
+            }
+            start.countDown()
+            futures.each { it.get(1, TimeUnit.MINUTES) }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+}
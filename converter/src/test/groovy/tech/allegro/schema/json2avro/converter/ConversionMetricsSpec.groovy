@@ -0,0 +1,160 @@
+package tech.allegro.schema.json2avro.converter
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.avro.Schema
+
+import static tech.allegro.schema.json2avro.converter.ConversionMetrics.Direction.AVRO_TO_JSON
+import static tech.allegro.schema.json2avro.converter.ConversionMetrics.Direction.JSON_TO_AVRO
+
+class ConversionMetricsSpec extends BaseConverterSpec {
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "name", "type" : "string" },
+                  { "name" : "tags", "type" : { "type" : "array", "items" : ["null", "string"] }, "default" : [] }
+              ]
+            }
+        ''')
+
+    def json = '''{ "name": "mike", "tags": ["a", null, "b"], "unknown": 1, "other": { "nested": true } }'''
+
+    def "should measure conversions of each schema"() {
+        given:
+        def metrics = new LongAdderConversionMetrics()
+        def converter = new JsonAvroConverter(metrics)
+
+        when:
+        def results = (1..2).collect { conversion.call(converter, json.bytes, schema) }
+
+        then:
+        def measured = metrics.get(schema, JSON_TO_AVRO)
+        measured.conversionCount == 2
+        measured.inputBytes == 2 * json.bytes.length
+        measured.outputBytes == results.sum { it instanceof byte[] ? it.length : 0 }
+        measured.latencyHistogram.sum() == 2
+        measured.totalNanos > 0
+        measured.failureCount == 0
+        metrics.get(schema, AVRO_TO_JSON) == null
+
+        where:
+        conversion << [
+                { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToGenericDataRecord(data, schema) },
+                { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToAvro(data, schema) }
+        ]
+    }
+
+    def "should count unions and unknown fields"() {
+        given:
+        def metrics = new LongAdderConversionMetrics()
+
+        when:
+        conversion.call(new JsonAvroConverter(metrics), json.bytes, schema)
+
+        then:
+        def measured = metrics.get(schema, JSON_TO_AVRO)
+        measured.unionCount == 3
+        measured.unionBranchesTried == 3
+        measured.unknownFieldCount == 2
+
+        where:
+        conversion << [
+                { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToGenericDataRecord(data, schema) },
+                { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToAvro(data, schema) }
+        ]
+    }
+
+    def "should measure conversions with the metrics of the reader"() {
+        given:
+        def metrics = new LongAdderConversionMetrics()
+        def reader = new CompositeJsonToAvroReader(Collections.emptyList(), null, metrics)
+        def converter = new JsonAvroConverter(new ObjectMapper(), reader, new SchemaCache())
+
+        when:
+        converter.convertToAvro(json.bytes, schema)
+
+        then:
+        def measured = metrics.get(schema, JSON_TO_AVRO)
+        measured.conversionCount == 1
+        measured.unionCount == 3
+        measured.unknownFieldCount == 2
+    }
+
+    def "should count failures by cause"() {
+        given:
+        def metrics = new LongAdderConversionMetrics()
+
+        when:
+        new JsonAvroConverter(metrics).convertToAvro(invalidJson.bytes, schema)
+
+        then:
+        thrown AvroConversionException
+        def measured = metrics.get(schema, JSON_TO_AVRO)
+        measured.conversionCount == 0
+        measured.failureCount == 1
+        measured.failureCauses == [(cause): 1L]
+
+        where:
+        invalidJson         | cause
+        '{ "name": 1 }'     | 'tech.allegro.schema.json2avro.converter.types.TypeMismatchException'
+        '{ "name": '        | 'com.fasterxml.jackson.core.io.JsonEOFException'
+    }
+
+    def "should measure validations as conversions"() {
+        given:
+        def metrics = new LongAdderConversionMetrics()
+        def converter = new JsonAvroConverter(metrics)
+
+        when:
+        def valid = converter.validate(json.bytes, schema)
+        def invalid = converter.validate(invalidJson.bytes, schema)
+
+        then:
+        valid.valid
+        !invalid.valid
+        def measured = metrics.get(schema, JSON_TO_AVRO)
+        measured.conversionCount == 1
+        measured.inputBytes == json.bytes.length
+        measured.outputBytes == 0
+        measured.failureCauses == [(cause): 1L]
+
+        where:
+        invalidJson         | cause
+        '{ "name": 1 }'     | 'tech.allegro.schema.json2avro.converter.types.TypeMismatchException'
+        '{ "name": '        | 'com.fasterxml.jackson.core.io.JsonEOFException'
+    }
+
+    def "should measure conversions to json"() {
+        given:
+        def metrics = new LongAdderConversionMetrics()
+        def converter = new AvroJsonConverter(new SchemaCache(), metrics)
+        def avro = avroConverter.convertToAvro(json.bytes, schema)
+        def record = avroConverter.convertToGenericDataRecord(json.bytes, schema)
+
+        when:
+        def fromAvro = converter.convertToJson(avro, schema)
+        def fromRecord = converter.convertToJson(record)
+
+        then:
+        def measured = metrics.get(schema, AVRO_TO_JSON)
+        measured.conversionCount == 2
+        measured.inputBytes == avro.length
+        measured.outputBytes == fromAvro.length + fromRecord.length
+        metrics.get(schema, JSON_TO_AVRO) == null
+    }
+
+    def "should put latencies into power of two buckets"() {
+        expect:
+        LongAdderConversionMetrics.latencyBucket(nanos) == bucket
+
+        where:
+        nanos          | bucket
+        0              | 0
+        1              | 1
+        1023           | 10
+        1024           | 11
+        Long.MAX_VALUE | LongAdderConversionMetrics.LATENCY_BUCKETS - 1
+    }
+}
@@ -0,0 +1,190 @@
+package tech.allegro.schema.json2avro.converter
+
+import org.apache.avro.Schema
+import org.apache.avro.generic.GenericData
+import org.apache.avro.generic.GenericDatumReader
+import org.apache.avro.io.DecoderFactory
+import tech.allegro.schema.json2avro.converter.types.AvroTypeConverter
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class ConversionPlanSpec extends BaseConverterSpec {
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  {
+                    "name" : "field_string",
+                    "type" : "string"
+                  },
+                  {
+                    "name" : "field_array",
+                    "type" : {
+                        "type": "array",
+                        "items": ["null", "int"]
+                    }
+                  }
+              ]
+            }
+        ''')
+
+    def "should return the same plan for the same schema"() {
+        given:
+        def reader = new CompositeJsonToAvroReader()
+
+        expect:
+        reader.getPlan(schema).is(reader.getPlan(schema))
+        reader.getPlan(schema).is(reader.getPlan(new Schema.Parser().parse(schema.toString())))
+    }
+
+    def "should resolve converters only once per schema node"() {
+        given:
+        def canManageCalls = new AtomicInteger()
+        def countingConverter = new AvroTypeConverter() {
+            @Override
+            Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+                throw new UnsupportedOperationException()
+            }
+
+            @Override
+            boolean canManage(Schema schema, Deque<String> path) {
+                canManageCalls.incrementAndGet()
+                return false
+            }
+        }
+        def converter = new JsonAvroConverter(new CompositeJsonToAvroReader(countingConverter))
+        def json = '''
+        {
+            "field_string": "foobar",
+            "field_array": [1, null, 2]
+        }
+        '''
+
+        when:
+        converter.convertToGenericDataRecord(json.bytes, schema)
+        def callsAfterFirstConversion = canManageCalls.get()
+        converter.convertToGenericDataRecord(json.bytes, schema)
+
+        then:
+        canManageCalls.get() == callsAfterFirstConversion
+    }
+
+    def "should resolve converters with the path of the field"() {
+        given:
+        def plan = new CompositeJsonToAvroReader().getPlan(schema)
+
+        expect:
+        plan.getFieldPlan(schema.getField("field_array")).getElementPlan().getBranchPlan(1).getField().name() == "field_array"
+        plan.getFieldPlan(schema.getField("field_string")).getSchema().getType() == Schema.Type.STRING
+    }
+
+    def "should read fields with a subclass overriding the reading of fields"() {
+        given:
+        def reader = new CompositeJsonToAvroReader() {
+            @Override
+            Object read(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+                jsonValue instanceof String ? jsonValue.toUpperCase() : super.read(field, schema, jsonValue, path, silently)
+            }
+        }
+        def converter = new JsonAvroConverter(reader)
+        def json = '''{ "field_string": "foobar", "field_array": [1, null, 2] }'''
+
+        when:
+        GenericData.Record record = conversion.call(converter, json.bytes)
+
+        then:
+        record.get("field_string").toString() == "FOOBAR"
+        record.get("field_array") == [1, null, 2]
+
+        where:
+        conversion << [
+                { JsonAvroConverter converter, byte[] data -> converter.convertToGenericDataRecord(data, schema) },
+                { JsonAvroConverter converter, byte[] data -> converter.convertCollectingViolations(data, schema).record },
+                { JsonAvroConverter converter, byte[] data ->
+                    new GenericDatumReader<GenericData.Record>(schema).read(null, DecoderFactory.get().binaryDecoder(converter.convertToAvro(data, schema), null)) }
+        ]
+    }
+
+    def "should convert recursive schema"() {
+        given:
+        def recursiveSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "Node",
+              "fields" : [
+                  {
+                    "name" : "value",
+                    "type" : "int"
+                  },
+                  {
+                    "name" : "next",
+                    "type" : ["null", "Node"],
+                    "default": null
+                  }
+              ]
+            }
+        ''')
+        def json = '''
+        {
+            "value": 1,
+            "next": {
+                "value": 2,
+                "next": {
+                    "value": 3
+                }
+            }
+        }
+        '''
+
+        when:
+        GenericData.Record record = avroConverter.convertToGenericDataRecord(json.bytes, recursiveSchema)
+
+        then:
+        record.get("next").get("next").get("value") == 3
+        record.get("next").get("next").get("next") == null
+    }
+
+    def "should reuse the plan of a recursive schema at every depth"() {
+        given:
+        def recursiveSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "Node",
+              "fields" : [
+                  { "name" : "value", "type" : "int" },
+                  { "name" : "next", "type" : ["null", "Node"], "default": null },
+                  { "name" : "children", "type" : { "type" : "array", "items" : "Node" }, "default": [] }
+              ]
+            }
+        ''')
+        def plan = new CompositeJsonToAvroReader().getPlan(recursiveSchema)
+        def next = recursiveSchema.getField("next")
+        def children = recursiveSchema.getField("children")
+
+        when:
+        def nextNode = plan.getFieldPlan(next).getBranchPlan(1)
+        def childNode = plan.getFieldPlan(children).getElementPlan()
+
+        then:
+        nextNode.getFieldPlan(next).is(plan.getFieldPlan(next))
+        nextNode.getFieldPlan(next).getBranchPlan(1).is(nextNode)
+        childNode.getFieldPlan(children).getElementPlan().is(childNode)
+        childNode.getFieldPlan(next).getBranchPlan(1).getFieldPlan(children).is(plan.getFieldPlan(children))
+    }
+
+    def "should evict the plans of the least recently used schemas"() {
+        given:
+        def reader = new CompositeJsonToAvroReader()
+        def first = reader.getPlan(schema)
+
+        when:
+        SchemaCache.DEFAULT_MAXIMUM_SIZE.times { i ->
+            reader.getPlan(new Schema.Parser().parse(schema.toString().replace("testSchema", "other$i")))
+        }
+
+        then:
+        !reader.getPlan(schema).is(first)
+    }
+}
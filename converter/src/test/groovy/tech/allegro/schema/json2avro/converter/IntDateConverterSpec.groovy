@@ -1,7 +1,12 @@
 package tech.allegro.schema.json2avro.converter
 
+import com.fasterxml.jackson.databind.ObjectMapper
 import org.apache.avro.Schema
 import org.apache.avro.generic.GenericData
+import tech.allegro.schema.json2avro.converter.types.IntDateConverter
+
+import java.time.LocalDate
+import java.time.format.DateTimeFormatter
 
 class IntDateConverterSpec extends BaseConverterSpec {
 
@@ -83,4 +88,61 @@ class IntDateConverterSpec extends BaseConverterSpec {
         e.message == "Failed to convert JSON to Avro: Field date is expected to be type: java.lang.String or java.lang.Number."
     }
 
+    def "should convert iso dates of any layout like the formatter"() {
+        given:
+        def json = """{ "date": "$date" }"""
+
+        when:
+        GenericData.Record record = avroConverter.convertToGenericDataRecord(json.bytes, new Schema.Parser().parse(schema))
+
+        then:
+        record.get("date") == LocalDate.from(DateTimeFormatter.ISO_DATE.parse(date)).toEpochDay()
+
+        where:
+        date << ["2024-02-29", "1900-03-01", "0000-01-01", "9999-12-31", "2022-02-05+01:00", "+10000-01-01"]
+    }
+
+    def "should parse dates with the parsing of a subclass using iso formatter"() {
+        given:
+        def dateConverter = new DottedDateConverter()
+        def converter = new JsonAvroConverter(new ObjectMapper(), new CompositeJsonToAvroReader(dateConverter))
+        def unionSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "date", "type" : [{ "type" : "int", "logicalType" : "date" }, "string"] }
+              ]
+            }
+        ''')
+
+        when:
+        GenericData.Record record = converter.convertToGenericDataRecord("""{ "date": "$date" }""".bytes, unionSchema)
+
+        then:
+        record.get("date") == expected
+        dateConverter.parses == 1
+
+        where:
+        date         | expected
+        "24.12.2024" | LocalDate.of(2024, 12, 24).toEpochDay()
+        "2024-12-24" | LocalDate.of(2024, 12, 24).toEpochDay()
+        "24/12/2024" | "24/12/2024"
+    }
+
+    static class DottedDateConverter extends IntDateConverter {
+        int parses
+
+        DottedDateConverter() {
+            super(DateTimeFormatter.ISO_DATE)
+        }
+
+        @Override
+        protected LocalDate parseLocalDate(String dateTimeString) {
+            parses++
+            dateTimeString.contains(".")
+                    ? LocalDate.parse(dateTimeString, DateTimeFormatter.ofPattern("dd.MM.yyyy"))
+                    : super.parseLocalDate(dateTimeString)
+        }
+    }
 }
@@ -4,6 +4,7 @@ import org.apache.avro.Schema
 import org.apache.avro.generic.GenericData
 
 import java.time.LocalTime
+import java.time.format.DateTimeFormatter
 
 class IntTimeMillisConverterSpec extends BaseConverterSpec {
 
@@ -86,4 +87,17 @@ class IntTimeMillisConverterSpec extends BaseConverterSpec {
         e.message == "Failed to convert JSON to Avro: Field time is expected to be type: java.lang.String or java.lang.Number."
     }
 
+    def "should convert iso times of any layout like the formatter"() {
+        given:
+        def json = """{ "time": "$time" }"""
+
+        when:
+        GenericData.Record record = avroConverter.convertToGenericDataRecord(json.bytes, new Schema.Parser().parse(schema))
+
+        then:
+        record.get("time") == LocalTime.from(DateTimeFormatter.ISO_TIME.parse(time)).toNanoOfDay().intdiv(1000_000)
+
+        where:
+        time << ["00:00:00", "23:59:59.999999999", "16:20:29.1", "16:20", "16:20:29-05:00"]
+    }
 }
@@ -3,12 +3,20 @@ package tech.allegro.schema.json2avro.converter
 
 import org.apache.avro.Schema
 import org.apache.avro.generic.GenericData
+import org.apache.avro.generic.GenericDatumReader
+import org.apache.avro.io.DecoderFactory
 import com.fasterxml.jackson.databind.ObjectMapper
 import spock.lang.Unroll
 import tech.allegro.schema.json2avro.converter.types.AvroTypeConverter
+import tech.allegro.schema.json2avro.converter.types.NullConverter
+import tech.allegro.schema.json2avro.converter.types.PrimitiveConverter
+import tech.allegro.schema.json2avro.converter.types.TypeMismatchException
 
+import java.nio.BufferOverflowException
+import java.nio.ByteBuffer
 import java.time.LocalDateTime
 import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference
 
 
 class JsonAvroConverterSpec extends BaseConverterSpec {
@@ -227,6 +235,39 @@ class JsonAvroConverterSpec extends BaseConverterSpec {
         thrown AvroConversionException
     }
 
+    def "should fill missing fields with their default values"() {
+        given:
+        def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_string", "type" : "string" },
+                  { "name" : "field_optional", "type" : ["null", "string"], "default" : null },
+                  { "name" : "field_int", "type" : "int", "default" : 7 },
+                  { "name" : "field_text", "type" : "string", "default" : "text" },
+                  { "name" : "field_array", "type" : { "type" : "array", "items" : "int" }, "default" : [1, 2] }
+              ]
+            }
+        ''')
+
+        when:
+        def first = avroConverter.convertToGenericDataRecord('{"field_int": 1, "field_string": "first"}'.bytes, schema)
+        first.get("field_array").add(3)
+        def second = avroConverter.convertToGenericDataRecord('{"field_string": "second", "field_optional": null}'.bytes, schema)
+
+        then:
+        first.get("field_int") == 1
+        first.get("field_text").toString() == "text"
+        first.get("field_array") == [1, 2, 3]
+
+        and:
+        second.get("field_optional") == null
+        second.get("field_int") == 7
+        second.get("field_text").toString() == "text"
+        second.get("field_array") == [1, 2]
+    }
+
     def "should convert message with nested records"() {
         given:
         def schema = '''
@@ -449,6 +490,34 @@ class JsonAvroConverterSpec extends BaseConverterSpec {
         toMap(json) == toMap(jsonConverter.convertToJson(avro, schema))
     }
 
+    def "should convert large arrays and maps to generic arrays and maps"() {
+        given:
+        def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_array", "type" : { "type": "array", "items": ["null", "long"] } },
+                  { "name" : "field_map", "type" : { "type": "map", "values": { "type": "array", "items": "string" } } }
+              ]
+            }
+        ''')
+        def items = (0..<10000).collect { it % 10 == 0 ? null : it.longValue() }
+        def entries = (0..<1000).collectEntries { ["key$it".toString(), ["$it".toString()]] }
+        def json = new ObjectMapper().writeValueAsBytes([field_array: items, field_map: entries])
+
+        when:
+        GenericData.Record record = avroConverter.convertToGenericDataRecord(json, schema)
+
+        then:
+        record.get("field_array") instanceof GenericData.Array
+        record.get("field_array") == items
+        record.get("field_map").collectEntries { key, value -> [key.toString(), value*.toString()] } == entries
+
+        and:
+        toMap(jsonConverter.convertToJson(avroConverter.convertToAvro(json, schema), schema)) == toMap(json)
+    }
+
     def "should convert nested array of records"() {
         given:
         def schema = '''
@@ -850,6 +919,50 @@ class JsonAvroConverterSpec extends BaseConverterSpec {
         exception.cause.message  ==~ /.*enum type and be one of A, B, C.*/
     }
 
+    def "should convert unknown enum symbols to the default symbol of the enum"() {
+        given:
+        def schema = new Schema.Parser().parse('''
+            {
+              "name": "testSchema",
+              "type": "record",
+              "fields": [
+                  {
+                    "name" : "field_enum",
+                    "type" : {
+                        "name" : "MyEnums",
+                        "type" : "enum",
+                        "symbols" : [ "A", "B", "UNKNOWN" ],
+                        "default" : "UNKNOWN"
+                    }
+                  },
+                  {
+                    "name" : "field_union",
+                    "type" : [ "null", "MyEnums", "string" ]
+                  }
+              ]
+            }
+        ''')
+
+        def json = '''
+        {
+            "field_enum": "D",
+            "field_union": "E"
+        }
+        '''
+
+        when:
+        def result = conversion.call(avroConverter, jsonConverter, json.bytes, schema)
+
+        then:
+        toMap(result) == [field_enum: "UNKNOWN", field_union: "UNKNOWN"]
+
+        where:
+        conversion << [
+                { JsonAvroConverter converter, AvroJsonConverter writer, byte[] data, Schema recordSchema -> writer.convertToJson(converter.convertToAvro(data, recordSchema), recordSchema) },
+                { JsonAvroConverter converter, AvroJsonConverter writer, byte[] data, Schema recordSchema -> writer.convertToJson(converter.convertToGenericDataRecord(data, recordSchema)) }
+        ]
+    }
+
     def "should accept null when value can be of any nullable array/map type"() {
         given:
         def schema = '''
@@ -1012,4 +1125,151 @@ class JsonAvroConverterSpec extends BaseConverterSpec {
         then:
         "custom-foo" == record.get("customString")
     }
+
+    def "should convert to avro written to output stream and byte buffer"() {
+        given:
+        def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  {
+                    "name" : "field_string",
+                    "type" : "string"
+                  },
+                  {
+                    "name" : "field_map",
+                    "type" : { "type": "map", "values": "int" }
+                  }
+              ]
+            }
+        ''')
+        def json = '''
+        {
+            "field_string": "foobar",
+            "field_map": {"a": 1}
+        }
+        '''
+        def avro = avroConverter.convertToAvro(json.bytes, schema)
+        def outputStream = new ByteArrayOutputStream()
+        def byteBuffer = ByteBuffer.allocate(64)
+
+        when:
+        avroConverter.convertToAvro(json.bytes, schema, outputStream)
+        def written = avroConverter.convertToAvro(json.bytes, schema, byteBuffer)
+
+        then:
+        outputStream.toByteArray() == avro
+        written == avro.length
+        byteBuffer.position() == avro.length
+        Arrays.copyOf(byteBuffer.array(), written) == avro
+    }
+
+    def "should not write to byte buffer without enough space left"() {
+        given:
+        def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  {
+                    "name" : "field_string",
+                    "type" : "string"
+                  }
+              ]
+            }
+        ''')
+        def byteBuffer = ByteBuffer.allocate(4)
+
+        when:
+        avroConverter.convertToAvro('{"field_string": "foobar"}'.bytes, schema, byteBuffer)
+
+        then:
+        thrown BufferOverflowException
+        byteBuffer.position() == 0
+    }
+
+    def "should convert to avro from a custom converter during conversion"() {
+        given:
+        def nestedSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "nestedSchema",
+              "fields" : [ { "name" : "nested", "type" : "string" } ]
+            }
+        ''')
+        def converterReference = new AtomicReference<JsonAvroConverter>()
+        def additionalConverter = new AvroTypeConverter() {
+            @Override
+            Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+                return ByteBuffer.wrap(converterReference.get().convertToAvro('{"nested": "foobar"}'.bytes, nestedSchema))
+            }
+
+            @Override
+            boolean canManage(Schema schema, Deque<String> path) {
+                return path.getLast() == "custom"
+            }
+        }
+        def converter = new JsonAvroConverter(new CompositeJsonToAvroReader(additionalConverter))
+        converterReference.set(converter)
+        def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_string", "type" : "string" },
+                  { "name" : "custom", "type" : "bytes" }
+              ]
+            }
+        ''')
+
+        when:
+        def avro = converter.convertToAvro('{"field_string": "foo", "custom": "x"}'.bytes, schema)
+        def record = new GenericDatumReader<GenericData.Record>(schema).read(null, DecoderFactory.get().binaryDecoder(avro, null))
+
+        then:
+        record.get("field_string").toString() == "foo"
+        record.get("custom").array() == converter.convertToAvro('{"nested": "foobar"}'.bytes, nestedSchema)
+    }
+
+    def "should report type mismatches without stack traces of the converters"() {
+        given:
+        def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  {
+                    "name" : "field_record",
+                    "type" : {
+                        "type" : "record",
+                        "name" : "nested",
+                        "fields" : [ { "name" : "field_int", "type" : "int" } ]
+                    }
+                  }
+              ]
+            }
+        ''')
+
+        when:
+        avroConverter.convertToGenericDataRecord('{"field_record": {"field_int": "foo"}}'.bytes, schema)
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to convert JSON to Avro: Field field_record.field_int is expected to be type: java.lang.Number"
+        e.cause instanceof TypeMismatchException
+        e.cause.path == "field_record.field_int"
+        e.cause.stackTrace.length == 0
+        e.stackTrace.length > 0
+    }
+
+    def "should share incompatible results of silent conversions"() {
+        given:
+        def path = new ArrayDeque<String>(["field"])
+        def schema = Schema.create(Schema.Type.INT)
+
+        expect:
+        PrimitiveConverter.INT.convert(null, schema, "foo", path, true).is(PrimitiveConverter.INT.convert(null, schema, "bar", path, true))
+        NullConverter.INSTANCE.convert(null, schema, 1, path, true).is(NullConverter.INSTANCE.convert(null, schema, 2, path, true))
+    }
 }
@@ -0,0 +1,225 @@
+package tech.allegro.schema.json2avro.converter
+
+import com.fasterxml.jackson.databind.DeserializationFeature
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.avro.Schema
+
+class JsonValidationSpec extends BaseConverterSpec {
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_string", "type" : "string" },
+                  {
+                    "name" : "field_record",
+                    "type" : {
+                        "type" : "record",
+                        "name" : "nested",
+                        "fields" : [
+                            { "name" : "field_int", "type" : "int" },
+                            { "name" : "field_union", "type" : ["null", "long"], "default" : null }
+                        ]
+                    }
+                  }
+              ]
+            }
+        ''')
+
+    def "should accept documents matching the schema"() {
+        expect:
+        avroConverter.validate(json.bytes, schema).valid
+        avroConverter.validate(json.bytes, schema).violations.empty
+
+        where:
+        json << [
+                '{"field_string": "foo", "field_record": {"field_int": 1}}',
+                '{"field_record": {"field_union": 2, "field_int": 1}, "field_string": "foo"}',
+                '{"field_string": "foo", "field_record": {"field_int": 1, "field_union": null}, "unknown": true}'
+        ]
+    }
+
+    def "should report the path and message of the violation"() {
+        when:
+        def result = avroConverter.validate(json.bytes, schema)
+
+        then:
+        !result.valid
+        result.violations*.path == [path]
+        result.violations*.message == [message]
+
+        where:
+        json                                                                   | path                       | message
+        '{"field_string": 1, "field_record": {"field_int": 1}}'                | 'field_string'             | 'Field field_string is expected to be type: java.lang.String'
+        '{"field_string": "foo", "field_record": {"field_int": "1"}}'          | 'field_record.field_int'   | 'Field field_record.field_int is expected to be type: java.lang.Number'
+        '{"field_string": "foo", "field_record": {"field_int": 1, "field_union": "2"}}' | 'field_record.field_union' | 'Could not evaluate union, field field_union is expected to be one of these: NULL, java.lang.Number. If this is a complex type, check if offending field: field_record.field_union adheres to schema.'
+    }
+
+    def "should report malformed json without path"() {
+        when:
+        def result = avroConverter.validate('{"field_string": "foo", "field_record": '.bytes, schema)
+
+        then:
+        !result.valid
+        result.violations.size() == 1
+        result.violations[0].path == ''
+        !result.violations[0].message.empty
+    }
+
+    def "should report all the violations of the document"() {
+        when:
+        def result = avroConverter.validate('{"field_string": 1, "field_record": {"field_int": "1"}}'.bytes, schema)
+
+        then:
+        result.violations*.path == ['field_string', 'field_record.field_int']
+        result.violations*.expected == ['java.lang.String', 'java.lang.Number']
+    }
+
+    def "should report missing fields with their path"() {
+        when:
+        def result = avroConverter.validate('{"field_record": {}}'.bytes, schema)
+
+        then:
+        result.violations*.path == ['field_record.field_int', 'field_string']
+        result.violations*.message == [
+                'Field field_record.field_int is missing and has no default value',
+                'Field field_string is missing and has no default value'
+        ]
+    }
+
+    def "should convert the valid part of the document"() {
+        when:
+        def result = avroConverter.convertCollectingViolations(
+                '{"field_string": 1, "field_record": {"field_int": 2, "field_union": "3"}}'.bytes, schema)
+
+        then:
+        !result.valid
+        result.violations*.path == ['field_string', 'field_record.field_union']
+        result.record.get('field_string') == null
+        result.record.get('field_record').get('field_int') == 2
+        result.record.get('field_record').get('field_union') == null
+    }
+
+    def "should stop converting at the maximum number of violations"() {
+        when:
+        def result = avroConverter.convertCollectingViolations(
+                '{"field_string": 1, "field_record": {"field_int": "2", "field_union": "3"}}'.bytes, schema, 2)
+
+        then:
+        result.record == null
+        result.violations*.path == ['field_string', 'field_record.field_int']
+    }
+
+    def "should convert documents without violations"() {
+        when:
+        def result = avroConverter.convertCollectingViolations(
+                '{"field_string": "foo", "field_record": {"field_int": 1}}'.bytes, schema)
+
+        then:
+        result.valid
+        result.record == avroConverter.convertToGenericDataRecord('{"field_string": "foo", "field_record": {"field_int": 1}}'.bytes, schema)
+    }
+
+    def "should reject union branches with violations"() {
+        given:
+        def unionSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_union", "type" : ["null", {
+                        "type" : "record",
+                        "name" : "nested",
+                        "fields" : [ { "name" : "field_int", "type" : "int" } ]
+                  }], "default" : null }
+              ]
+            }
+        ''')
+
+        when:
+        def result = avroConverter.convertCollectingViolations('{"field_union": {"field_int": "1"}}'.bytes, unionSchema)
+
+        then:
+        result.violations*.path == ['field_union']
+        result.violations[0].message.startsWith('Could not evaluate union, field field_union')
+        result.record.get('field_union') == null
+    }
+
+    def "should not report unknown fields to the listener"() {
+        given:
+        def unknownFields = []
+        def listener = { name, value, path -> unknownFields << name } as UnknownFieldListener
+        def streaming = new JsonAvroConverter(new ObjectMapper(), listener)
+        def notStreaming = new JsonAvroConverter(new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS), listener)
+        def json = '{"field_string": "foo", "field_record": {"field_int": 1}, "unknown": 1}'
+
+        expect:
+        converterFailOnUnknown.validate(json.bytes, schema).valid
+        streaming.validate(json.bytes, schema).valid
+        notStreaming.validate(json.bytes, schema).valid
+        unknownFields.empty
+    }
+
+    def "should find the violations the conversion collecting them finds"() {
+        given:
+        def richSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "name", "type" : "string" },
+                  { "name" : "tags", "type" : { "type" : "array", "items" : "int" }, "default" : [] },
+                  {
+                    "name" : "nested",
+                    "type" : {
+                        "type" : "record",
+                        "name" : "nested",
+                        "fields" : [
+                            { "name" : "field_int", "type" : "int" },
+                            { "name" : "field_union", "type" : ["null", "long"], "default" : null }
+                        ]
+                    }
+                  },
+                  {
+                    "name" : "choice",
+                    "type" : ["null", {
+                        "type" : "record",
+                        "name" : "choiceRecord",
+                        "fields" : [ { "name" : "a", "type" : "int" } ]
+                    }, { "type" : "array", "items" : "int" }],
+                    "default" : null
+                  },
+                  { "name" : "values", "type" : { "type" : "map", "values" : "long" }, "default" : {} }
+              ]
+            }
+        ''')
+
+        when:
+        def validated = avroConverter.validate(json.bytes, richSchema)
+        def converted = avroConverter.convertCollectingViolations(json.bytes, richSchema)
+
+        then:
+        !validated.violations.empty
+        validated.violations*.toString() == converted.violations*.toString()
+        validated.violations*.expected == converted.violations*.expected
+
+        where:
+        json << [
+                '{"name": 1, "tags": [1, "x", 3], "nested": {"field_int": 1}}',
+                '{"name": "n", "tags": [1, [2]], "nested": {"field_int": "1", "field_union": "u"}, "values": {"a": "b"}}',
+                '{"name": "n", "nested": {}, "choice": {"a": "1"}}',
+                '{"name": "n", "nested": {"field_int": 1}, "choice": [1, "2"], "values": {"a": 1, "b": {}}}',
+                '{"tags": {"a": 1}, "nested": 1, "choice": "x"}'
+        ]
+    }
+
+    def "should validate documents which cannot be streamed"() {
+        given:
+        def converter = new JsonAvroConverter(new ObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS))
+
+        expect:
+        converter.validate('{"field_string": "foo", "field_record": {"field_int": 1}}'.bytes, schema).valid
+        !converter.validate('{"field_string": "foo", "field_record": {"field_int": "1"}}'.bytes, schema).valid
+    }
+}
@@ -2,9 +2,12 @@ package tech.allegro.schema.json2avro.converter
 
 import org.apache.avro.Schema
 import org.apache.avro.generic.GenericData
+import tech.allegro.schema.json2avro.converter.types.LongTimestampMillisConverter
 
+import java.time.Instant
 import java.time.LocalDateTime
 import java.time.ZoneOffset
+import java.time.format.DateTimeFormatter
 
 class LongTimestampMillisConverterSpec extends BaseConverterSpec {
 
@@ -148,4 +151,80 @@ class LongTimestampMillisConverterSpec extends BaseConverterSpec {
         e.message == "Failed to convert JSON to Avro: Could not evaluate union, field datetime is expected to be one of these: date time string, timestamp number, NULL. If this is a complex type, check if offending field: datetime adheres to schema."
     }
 
+    def "should convert iso date times of any layout like the formatter"() {
+        given:
+        def json = """{ "datetime": "$datetime" }"""
+
+        when:
+        GenericData.Record record = avroConverter.convertToGenericDataRecord(json.bytes, new Schema.Parser().parse(schema))
+
+        then:
+        record.get("datetime") == Instant.from(DateTimeFormatter.ISO_DATE_TIME.parse(datetime)).toEpochMilli()
+
+        where:
+        datetime << [
+                "2022-02-05T16:20:29.1+01:00",
+                "1969-12-31T23:59:59.999999999Z",
+                "2024-02-29T00:00:00-18:00",
+                "0001-01-01T00:00:00.123456Z",
+                "2022-02-05t16:20:29z",
+                "2022-02-05T16:20+01:00",
+                "2022-02-05T16:20:29+01:00[Europe/Warsaw]",
+                "+12022-02-05T16:20:29Z"
+        ]
+    }
+
+    def "should fail if date time is out of range"() {
+        given:
+        def json = '''
+        {
+            "datetime": "2022-02-30T16:20:29Z"
+        }
+        '''
+
+        when:
+        avroConverter.convertToGenericDataRecord(json.bytes, new Schema.Parser().parse(schema))
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to convert JSON to Avro: Field datetime should be a valid date time."
+    }
+
+    def "should convert strings which are not date times to the string branch of union"() {
+        given:
+        def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  {
+                    "name" : "datetime",
+                    "type" : [{
+                      "type" : "long",
+                      "logicalType" : "timestamp-millis"
+                    }, "string"]
+                  }
+              ]
+            }
+        ''')
+
+        expect:
+        avroConverter.convertToGenericDataRecord("""{ "datetime": "$datetime" }""".bytes, schema).get("datetime") == expected
+
+        where:
+        datetime               | expected
+        "2022-02-05T16:20:29Z" | 1644078029000L
+        "test"                 | "test"
+        "2022-02-05"           | "2022-02-05"
+    }
+
+    def "should parse date times with the configured formatter"() {
+        given:
+        def converter = new JsonAvroConverter(new CompositeJsonToAvroReader(
+                new LongTimestampMillisConverter(DateTimeFormatter.ISO_INSTANT)))
+
+        expect:
+        converter.convertToGenericDataRecord('{ "datetime": "2022-02-05T16:20:29Z" }'.bytes, new Schema.Parser().parse(schema))
+                .get("datetime") == 1644078029000L
+    }
 }
@@ -0,0 +1,109 @@
+package tech.allegro.schema.json2avro.converter
+
+import org.apache.avro.SchemaParseException
+import spock.lang.Specification
+
+class SchemaCacheSpec extends Specification {
+
+    static String schema(String name) {
+        """
+            {
+              "type" : "record",
+              "name" : "$name",
+              "fields" : [
+                  {
+                    "name" : "field_string",
+                    "type" : "string"
+                  }
+              ]
+            }
+        """
+    }
+
+    def "should parse schema once"() {
+        given:
+        def cache = new SchemaCache()
+
+        when:
+        def first = cache.parse(schema("first"))
+        def second = cache.parse(schema("first"))
+
+        then:
+        first.is(second)
+        first.name == "first"
+        cache.missCount == 1
+        cache.hitCount == 1
+        cache.size() == 1
+    }
+
+    def "should evict least recently used schema"() {
+        given:
+        def cache = new SchemaCache(2)
+        def first = cache.parse(schema("first"))
+        cache.parse(schema("second"))
+
+        when:
+        cache.parse(schema("first"))
+        cache.parse(schema("third"))
+
+        then:
+        cache.size() == 2
+        cache.parse(schema("first")).is(first)
+        cache.missCount == 3
+
+        when:
+        cache.parse(schema("second"))
+
+        then:
+        cache.missCount == 4
+    }
+
+    def "should not cache invalid schema"() {
+        given:
+        def cache = new SchemaCache()
+
+        when:
+        cache.parse('{"type": "record"}')
+
+        then:
+        thrown SchemaParseException
+        cache.size() == 0
+    }
+
+    def "should reject non positive maximum size"() {
+        when:
+        new SchemaCache(0)
+
+        then:
+        thrown IllegalArgumentException
+    }
+
+    def "should use the cache for schemas given as strings"() {
+        given:
+        def converter = new JsonAvroConverter()
+        def json = '{"field_string": "foobar"}'
+
+        when:
+        def first = converter.convertToAvro(json.bytes, schema("first"))
+        def second = converter.convertToAvro(json.bytes, schema("first"))
+
+        then:
+        first == second
+        converter.schemaCache.missCount == 1
+        converter.schemaCache.hitCount == 1
+    }
+
+    def "should use the cache for schemas given as strings when converting to json"() {
+        given:
+        def converter = new AvroJsonConverter()
+        def avro = new JsonAvroConverter().convertToAvro('{"field_string": "foobar"}'.bytes, schema("first"))
+
+        when:
+        converter.convertToJson(avro, schema("first"))
+        converter.convertToJson(avro, schema("first"))
+
+        then:
+        converter.schemaCache.missCount == 1
+        converter.schemaCache.hitCount == 1
+    }
+}
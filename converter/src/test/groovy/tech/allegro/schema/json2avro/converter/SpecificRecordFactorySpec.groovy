@@ -0,0 +1,68 @@
+package tech.allegro.schema.json2avro.converter
+
+import org.apache.avro.Schema
+import spock.lang.Specification
+
+class SpecificRecordFactorySpec extends Specification {
+
+    def factory = new SpecificRecordFactory<>(SpecificRecordConvertTest)
+    def converter = new JsonAvroConverter()
+    def json = '{"test": "test", "enumTest": "s2"}'
+
+    def "should copy record converted with the class schema"() {
+        given:
+        def schema = SpecificRecordConvertTest.getClassSchema()
+
+        when:
+        def record = factory.copy(converter.convertToGenericDataRecord(json.bytes, schema))
+
+        then:
+        factory.canCopy(schema)
+        record instanceof SpecificRecordConvertTest
+        record == factory.read(converter.convertToAvro(json.bytes, schema), schema)
+        record.getEnumTest().name() == "s2"
+    }
+
+    def "should copy record converted with a schema of the same layout"() {
+        given:
+        def schema = new Schema.Parser().parse('''
+            {
+              "namespace": "tech.allegro.schema.json2avro.converter",
+              "type": "record",
+              "name": "SpecificRecordConvertTest",
+              "doc": "parsed without the properties of the generated class",
+              "fields": [
+                  {"name": "test", "type": "string"},
+                  {"name": "enumTest", "type": { "type": "enum", "name": "status", "symbols": ["s1", "s2"]}}
+              ]
+            }
+        ''')
+
+        expect:
+        factory.canCopy(schema)
+        converter.convertToSpecificRecord(json.bytes, SpecificRecordConvertTest, schema) ==
+                factory.read(converter.convertToAvro(json.bytes, schema), schema)
+    }
+
+    def "should read record converted with a schema of a different layout"() {
+        given:
+        def schema = new Schema.Parser().parse('''
+            {
+              "type": "record",
+              "name": "OtherRecord",
+              "fields": [
+                  {"name": "test", "type": "string"},
+                  {"name": "enumTest", "type": { "type": "enum", "name": "status", "symbols": ["s1", "s2"]}}
+              ]
+            }
+        ''')
+
+        when:
+        SpecificRecordConvertTest record = converter.convertToSpecificRecord(json.bytes, SpecificRecordConvertTest, schema)
+
+        then:
+        !factory.canCopy(schema)
+        record.getTest().toString() == "test"
+        record.getEnumTest().name() == "s2"
+    }
+}
@@ -0,0 +1,151 @@
+package tech.allegro.schema.json2avro.converter
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.avro.Schema
+import org.apache.avro.generic.GenericDatumWriter
+import org.apache.avro.io.EncoderFactory
+import spock.lang.Unroll
+
+class StreamingJsonToAvroWriterSpec extends BaseConverterSpec {
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_integer", "type" : "int" },
+                  { "name" : "field_long", "type" : "long", "default": 7 },
+                  { "name" : "field_float", "type" : "float" },
+                  { "name" : "field_string", "type" : "string", "default": "default" },
+                  { "name" : "field_enum", "type" : { "type": "enum", "name": "Suit", "symbols": ["SPADES", "HEARTS"] } },
+                  { "name" : "field_array", "type" : { "type": "array", "items": ["null", "int", "string"] }, "default": [] },
+                  { "name" : "field_map", "type" : { "type": "map", "values": "boolean" }, "default": {} },
+                  {
+                    "name" : "field_union",
+                    "type" : [
+                        "null",
+                        { "type": "record", "name": "First", "fields": [ { "name": "first", "type": "string" } ] },
+                        { "type": "record", "name": "Second", "fields": [ { "name": "second", "type": "string" } ] }
+                    ],
+                    "default": null
+                  },
+                  { "name" : "field_date", "type" : { "type": "int", "logicalType": "date" }, "default": 0 }
+              ]
+            }
+        ''')
+
+    @Unroll
+    def "should write the same binary avro as the record conversion for #description"() {
+        given:
+        def reader = new JsonGenericRecordReader(new ObjectMapper(), new CompositeJsonToAvroReader())
+        def buffer = new AvroBinaryBuffer()
+
+        when:
+        def streamed = reader.write(json.bytes, schema, buffer)
+
+        then:
+        streamed
+        buffer.toByteArray() == viaRecord(reader, json)
+
+        where:
+        description            | json
+        "fields in order"      | '{"field_integer": 1, "field_long": 2, "field_float": 1.5, "field_string": "foo", "field_enum": "HEARTS", "field_array": [1, null, "x"], "field_map": {"a": true}, "field_union": {"second": "bar"}, "field_date": "2020-01-01"}'
+        "fields out of order"  | '{"field_enum": "SPADES", "field_float": 1, "field_integer": 2.7, "field_string": "zażółć 😀"}'
+        "defaults"             | '{"field_integer": 1, "field_float": 2, "field_enum": "SPADES"}'
+        "empty containers"     | '{"field_integer": 1, "field_float": 2, "field_enum": "SPADES", "field_array": [], "field_map": {}}'
+        "first record branch"  | '{"field_integer": 1, "field_float": 2, "field_enum": "SPADES", "field_union": {"first": "bar"}}'
+        "unknown fields"       | '{"field_integer": 1, "unknown": {"nested": [1, 2]}, "field_float": 2, "field_enum": "SPADES"}'
+        "large numbers"        | '{"field_integer": 12345678901, "field_long": 123456789012345678901, "field_float": 3, "field_enum": "SPADES"}'
+    }
+
+    @Unroll
+    def "should not stream #description"() {
+        given:
+        def reader = new JsonGenericRecordReader(new ObjectMapper(), new CompositeJsonToAvroReader())
+        def buffer = new AvroBinaryBuffer()
+
+        expect:
+        !reader.write(json.bytes, schema, buffer)
+        buffer.position() == 0
+
+        where:
+        description            | json
+        "invalid value"        | '{"field_integer": "1", "field_float": 2, "field_enum": "SPADES"}'
+        "missing field"        | '{"field_float": 2, "field_enum": "SPADES"}'
+        "unknown enum symbol"  | '{"field_integer": 1, "field_float": 2, "field_enum": "CLUBS"}'
+        "duplicated field"     | '{"field_integer": 1, "field_integer": 2, "field_float": 2, "field_enum": "SPADES"}'
+        "invalid json"         | '{"field_integer": 1,'
+    }
+
+    def "should report unknown fields once the document is written"() {
+        given:
+        def unknownFields = []
+        def reader = new JsonGenericRecordReader(new ObjectMapper(),
+                { name, value, path -> unknownFields << [name, value, path] } as UnknownFieldListener)
+        def json = '{"field_integer": 1, "field_float": 2, "field_enum": "SPADES", "field_union": {"second": "bar"}, "unknown": {"a": 1}}'
+
+        when:
+        def streamed = reader.write(json.bytes, schema, new AvroBinaryBuffer())
+
+        then:
+        streamed
+        unknownFields == [["unknown", [a: 1], "unknown"]]
+    }
+
+    def "should report the paths of unknown fields of nested and recursive records"() {
+        given:
+        def unknownFields = []
+        def reader = new JsonGenericRecordReader(new ObjectMapper(),
+                { name, value, path -> unknownFields << path } as UnknownFieldListener)
+        def recursiveSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "Node",
+              "fields" : [
+                  { "name" : "name", "type" : "string" },
+                  { "name" : "children", "type" : { "type": "array", "items": "Node" }, "default": [] }
+              ]
+            }
+        ''')
+        def json = '{"name": "a", "children": [{"name": "b", "children": [{"name": "c", "deepest": 3}], "deeper": 2}], "top": 1}'
+
+        when:
+        def streamed = reader.write(json.bytes, recursiveSchema, new AvroBinaryBuffer())
+
+        then:
+        streamed
+        unknownFields == ["children.children.deepest", "children.deeper", "top"]
+    }
+
+    def "should keep the error of the record conversion"() {
+        given:
+        def json = '{"field_integer": "1", "field_float": 2, "field_enum": "SPADES"}'
+
+        when:
+        avroConverter.convertToAvro(json.bytes, schema)
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to convert JSON to Avro: Field field_integer is expected to be type: java.lang.Number"
+    }
+
+    def "should fail on unknown field of a streamed document"() {
+        given:
+        def json = '{"field_integer": 1, "field_float": 2, "field_enum": "SPADES", "unknown": 1}'
+
+        when:
+        converterFailOnUnknown.convertToAvro(json.bytes, schema)
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to convert JSON to Avro: Field unknown is unknown"
+    }
+
+    private byte[] viaRecord(JsonGenericRecordReader reader, String json) {
+        def outputStream = new ByteArrayOutputStream()
+        def encoder = EncoderFactory.get().binaryEncoder(outputStream, null)
+        new GenericDatumWriter<Object>(schema).write(reader.read(json.bytes, schema), encoder)
+        encoder.flush()
+        outputStream.toByteArray()
+    }
+}
@@ -0,0 +1,90 @@
+package tech.allegro.schema.json2avro.converter
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.avro.Schema
+import org.apache.avro.generic.GenericDatumReader
+import org.apache.avro.generic.GenericRecord
+import org.apache.avro.io.DecoderFactory
+import tech.allegro.schema.json2avro.converter.types.StrictNumberConverter
+
+class StrictNumberConverterSpec extends BaseConverterSpec {
+
+    def strictConverter = new JsonAvroConverter(new ObjectMapper(), new CompositeJsonToAvroReader(StrictNumberConverter.ALL))
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  { "name" : "field_int", "type" : "int", "default" : 0 },
+                  { "name" : "field_long", "type" : "long", "default" : 0 },
+                  { "name" : "field_float", "type" : "float", "default" : 0 },
+                  { "name" : "field_union", "type" : ["null", "int", "long", "double"], "default" : null }
+              ]
+            }
+        ''')
+
+    def "should convert numbers which fit in the avro type"() {
+        given:
+        def json = """{ "$field": $value }"""
+
+        expect:
+        conversion.call(strictConverter, json.bytes, schema).get(field) == expected
+
+        where:
+        field         | value                  | expected
+        'field_int'   | '2147483647'           | 2147483647
+        'field_int'   | '2.0'                  | 2
+        'field_long'  | '9223372036854775807'  | 9223372036854775807L
+        'field_long'  | '1e18'                 | 1000000000000000000L
+        'field_float' | '3.4e38'               | 3.4e38f
+        'field_union' | '1'                    | 1
+        'field_union' | '3000000000'           | 3000000000L
+        'field_union' | '1.5'                  | 1.5d
+
+        conversion << [
+                { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToGenericDataRecord(data, schema) },
+                { JsonAvroConverter converter, byte[] data, Schema schema -> decode(converter.convertToAvro(data, schema), schema) }
+        ] * 4
+    }
+
+    def "should reject numbers which do not fit in the avro type"() {
+        given:
+        def json = """{ "$field": $value }"""
+
+        when:
+        conversion.call(strictConverter, json.bytes, schema)
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to convert JSON to Avro: Field $field is expected to be type: $type, but $value cannot be converted without loss"
+
+        where:
+        field         | value                  | type
+        'field_int'   | '3000000000'           | 'int'
+        'field_int'   | '1.5'                  | 'int'
+        'field_long'  | '9223372036854775808'  | 'long'
+        'field_float' | '1.0E39'               | 'float'
+
+        conversion << [
+                { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToGenericDataRecord(data, schema) },
+                { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToAvro(data, schema) }
+        ] * 2
+    }
+
+    def "should narrow numbers which do not fit by default"() {
+        given:
+        def json = '{ "field_int": 3000000000, "field_union": 3000000000 }'
+
+        when:
+        GenericRecord record = avroConverter.convertToGenericDataRecord(json.bytes, schema)
+
+        then:
+        record.get("field_int") == (int) 3000000000L
+        record.get("field_union") == (int) 3000000000L
+    }
+
+    private static GenericRecord decode(byte[] avro, Schema schema) {
+        new GenericDatumReader<GenericRecord>(schema).read(null, DecoderFactory.get().binaryDecoder(avro, null))
+    }
+}
@@ -0,0 +1,150 @@
+package tech.allegro.schema.json2avro.converter
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.avro.AvroTypeException
+import org.apache.avro.Schema
+import org.apache.avro.generic.GenericData
+import tech.allegro.schema.json2avro.converter.types.AvroTypeConverter
+
+class UnionConverterSpec extends BaseConverterSpec {
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  {
+                    "name" : "field_union",
+                    "type" : [
+                        "null",
+                        "boolean",
+                        { "type": "enum", "name": "Kind", "symbols": ["FIRST", "SECOND"] },
+                        "string",
+                        "long",
+                        {
+                          "type": "record",
+                          "name": "First",
+                          "fields": [
+                              { "name": "first", "type": "string" },
+                              { "name": "optional", "type": "string", "default": "" }
+                          ]
+                        },
+                        {
+                          "type": "record",
+                          "name": "Second",
+                          "fields": [ { "name": "second", "type": "string" } ]
+                        },
+                        { "type": "array", "items": "int" }
+                    ]
+                  }
+              ]
+            }
+        ''')
+
+    def "should resolve union branch from the kind of the json value"() {
+        given:
+        def json = """{ "field_union": $value }"""
+
+        when:
+        GenericData.Record record = avroConverter.convertToGenericDataRecord(json.bytes, schema)
+
+        then:
+        record.get("field_union")?.getClass()?.simpleName == expectedType
+
+        where:
+        value                 | expectedType
+        'null'                | null
+        'true'                | 'Boolean'
+        '"SECOND"'            | 'EnumSymbol'
+        '"THIRD"'             | 'String'
+        '12'                  | 'Long'
+        '{"first": "a"}'      | 'Record'
+        '{"second": "b"}'     | 'Record'
+        '[1, 2]'              | 'ArrayList'
+    }
+
+    def "should not try record branches missing required fields"() {
+        given:
+        def unknownFields = []
+        def converter = new JsonAvroConverter(new ObjectMapper(),
+                { name, value, path -> unknownFields << name } as UnknownFieldListener)
+        def json = '{ "field_union": {"second": "b"} }'
+
+        when:
+        GenericData.Record record = converter.convertToGenericDataRecord(json.bytes, schema)
+
+        then:
+        record.get("field_union").schema.name == "Second"
+        unknownFields.isEmpty()
+    }
+
+    def "should report the types expected by every branch"() {
+        given:
+        def unionSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  {
+                    "name" : "field_union",
+                    "type" : ["null", "int", "boolean"]
+                  }
+              ]
+            }
+        ''')
+        def json = '{ "field_union": "foo" }'
+
+        when:
+        avroConverter.convertToGenericDataRecord(json.bytes, unionSchema)
+
+        then:
+        def e = thrown AvroConversionException
+        e.message == "Failed to convert JSON to Avro: Could not evaluate union, field field_union is expected to be one of these: " +
+                "NULL, java.lang.Number, java.lang.Boolean. If this is a complex type, check if offending field: field_union adheres to schema."
+    }
+
+    def "should try each candidate branch once for values no branch accepts"() {
+        given:
+        def countingConverter = new CountingStringConverter()
+        def converter = new JsonAvroConverter(new ObjectMapper(), new CompositeJsonToAvroReader(countingConverter))
+        def unionSchema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [ { "name" : "field_union", "type" : ["null", "string"] } ]
+            }
+        ''')
+
+        when:
+        converter.convertToGenericDataRecord('{ "field_union": 1 }'.bytes, unionSchema)
+
+        then:
+        def e = thrown AvroConversionException
+        e.message.contains("is expected to be one of these: NULL, counted string.")
+        countingConverter.conversions == 1
+    }
+
+    def "should try every branch for values of other kinds than json values"() {
+        when:
+        new CompositeJsonToAvroReader().read([field_union: 'x' as char], schema)
+
+        then:
+        def e = thrown AvroTypeException
+        e.message.startsWith("Could not evaluate union, field field_union is expected to be one of these: NULL, java.lang.Boolean")
+    }
+
+    static class CountingStringConverter implements AvroTypeConverter {
+        int conversions
+
+        @Override
+        Object convert(Schema.Field field, Schema schema, Object jsonValue, Deque<String> path, boolean silently) {
+            conversions++
+            jsonValue instanceof String ? jsonValue : new AvroTypeConverter.Incompatible("counted string")
+        }
+
+        @Override
+        boolean canManage(Schema schema, Deque<String> path) {
+            schema.type == Schema.Type.STRING
+        }
+    }
+}
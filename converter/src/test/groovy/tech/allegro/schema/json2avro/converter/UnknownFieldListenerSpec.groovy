@@ -0,0 +1,81 @@
+package tech.allegro.schema.json2avro.converter
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.apache.avro.Schema
+
+import java.util.function.Supplier
+
+class UnknownFieldListenerSpec extends BaseConverterSpec {
+
+    def schema = new Schema.Parser().parse('''
+            {
+              "type" : "record",
+              "name" : "testSchema",
+              "fields" : [
+                  {
+                    "name" : "field_record",
+                    "type" : {
+                        "type" : "record",
+                        "name" : "nested",
+                        "fields" : [ { "name" : "field_string", "type" : "string" } ]
+                    }
+                  },
+                  {
+                    "name" : "field_array",
+                    "type" : { "type" : "array", "items" : "nested" },
+                    "default" : []
+                  }
+              ]
+            }
+        ''')
+
+    def json = '''
+        {
+            "unknown_root": 1,
+            "field_record": { "field_string": "foo", "unknown_nested": true },
+            "field_array": [ { "field_string": "bar", "unknown_item": "baz" } ]
+        }
+        '''
+
+    def "should report paths of unknown fields"() {
+        given:
+        def paths = []
+        def listener = { name, value, path -> paths << path } as UnknownFieldListener
+
+        when:
+        conversion.call(new JsonAvroConverter(new ObjectMapper(), listener), json.bytes, schema)
+
+        then:
+        paths == ["unknown_root", "field_record.unknown_nested", "field_array.unknown_item"]
+
+        where:
+        conversion << [
+                { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToGenericDataRecord(data, schema) },
+                { JsonAvroConverter converter, byte[] data, Schema schema -> converter.convertToAvro(data, schema) }
+        ]
+    }
+
+    def "should not print paths of unknown fields for listener not using them"() {
+        given:
+        def names = []
+        def printedPaths = []
+        def listener = new UnknownFieldListener() {
+            @Override
+            void onUnknownField(String name, Object value, String path) {
+                printedPaths << path
+            }
+
+            @Override
+            void onUnknownField(String name, Object value, Supplier<String> path) {
+                names << name
+            }
+        }
+
+        when:
+        new JsonAvroConverter(new ObjectMapper(), listener).convertToGenericDataRecord(json.bytes, schema)
+
+        then:
+        names == ["unknown_root", "unknown_nested", "unknown_item"]
+        printedPaths.isEmpty()
+    }
+}
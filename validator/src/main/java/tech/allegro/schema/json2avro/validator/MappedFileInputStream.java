@@ -0,0 +1,81 @@
+package tech.allegro.schema.json2avro.validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through consecutive memory-mapped regions, so files of any size are read without copying them to
+ * the heap.
+ */
+class MappedFileInputStream extends InputStream {
+
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private long regionStart;
+
+    private MappedByteBuffer region;
+
+    MappedFileInputStream(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            size = channel.size();
+            region = map(0);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextRegionIfNeeded() ? region.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextRegionIfNeeded()) {
+            return -1;
+        }
+        int read = Math.min(length, region.remaining());
+        region.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, size - regionStart - region.position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean nextRegionIfNeeded() throws IOException {
+        if (region.hasRemaining()) {
+            return true;
+        }
+        long nextRegionStart = regionStart + region.capacity();
+        if (nextRegionStart >= size) {
+            return false;
+        }
+        region = map(nextRegionStart);
+        return true;
+    }
+
+    private MappedByteBuffer map(long position) throws IOException {
+        regionStart = position;
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, size - position));
+    }
+}
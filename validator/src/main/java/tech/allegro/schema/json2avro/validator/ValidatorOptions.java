@@ -1,6 +1,7 @@
 package tech.allegro.schema.json2avro.validator;
 
 import com.beust.jcommander.Parameter;
+import tech.allegro.schema.json2avro.validator.schema.avro.NdjsonAvroValidator;
 
 import java.nio.file.Path;
 
@@ -15,12 +16,21 @@ public class ValidatorOptions {
     @Parameter(names = {"-d", "--debug"}, description = "Enables logging in debug mode")
     private boolean debug = true;
 
-    @Parameter(names = {"-m", "--mode"}, description = "Validation mode. Supported: json2avro, avro2json, json2avro2json")
+    @Parameter(names = {"-m", "--mode"}, description = "Validation mode. Supported: json2avro, avro2json, json2avro2json, ndjson2avro, avro2ndjson")
     private String mode = "json2avro";
 
     @Parameter(names = {"-o", "--output"}, description = "Path to the generated file (it will be created or it will be truncated if exists)")
     private Path outputPath;
 
+    @Parameter(names = {"-t", "--threads"}, description = "Number of threads converting newline delimited JSON in ndjson2avro mode")
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Parameter(names = {"-c", "--chunk-size"}, description = "Number of lines converted by a thread at once in ndjson2avro mode")
+    private int chunkSize = 1000;
+
+    @Parameter(names = {"--max-failures"}, description = "Number of failed lines reported in the result in ndjson2avro mode, the following ones are only logged")
+    private int maxFailures = NdjsonAvroValidator.DEFAULT_MAX_FAILURES;
+
     @Parameter(names = "--help", help = true, description = "Displays this help message")
     private boolean help;
 
@@ -71,4 +81,28 @@ public class ValidatorOptions {
     public void setMode(String mode) {
         this.mode = mode;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxFailures() {
+        return maxFailures;
+    }
+
+    public void setMaxFailures(int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
 }
@@ -6,10 +6,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tech.allegro.schema.json2avro.validator.schema.ValidationMode;
 import tech.allegro.schema.json2avro.validator.schema.ValidationOutput;
+import tech.allegro.schema.json2avro.validator.schema.ValidationResult;
 import tech.allegro.schema.json2avro.validator.schema.ValidatorException;
 import tech.allegro.schema.json2avro.validator.schema.Validators;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -19,6 +23,16 @@ public class ValidatorRunner {
 
     public static void run(ValidatorOptions options) {
 
+        switch (getMode(options)) {
+            case NDJSON_TO_AVRO:
+                runNdjson(options);
+                return;
+            case AVRO_TO_NDJSON:
+                runAvroFile(options);
+                return;
+            default:
+                break;
+        }
         try {
             Validators.avro()
                     .withMode(getMode(options))
@@ -32,6 +46,45 @@ public class ValidatorRunner {
         }
     }
 
+    private static void runNdjson(ValidatorOptions options) {
+
+        ValidationResult result;
+        try (InputStream input = new MappedFileInputStream(options.getInputPath());
+             OutputStream output = openOutput(options.getOutputPath())) {
+            result = Validators.ndjson()
+                    .withInput(input)
+                    .withSchema(readFile(options.getSchemaPath()))
+                    .withOutput(output)
+                    .withThreads(options.getThreads())
+                    .withChunkSize(options.getChunkSize())
+                    .withMaxFailures(options.getMaxFailures())
+                    .build()
+                    .validate();
+        } catch (IOException e) {
+            throw new ValidatorException("Unexpected error occurred during I/O operation", e);
+        }
+        if (!result.isSuccess()) {
+            String atLeast = result.getFailures().size() >= options.getMaxFailures() ? "At least " : "";
+            throw new ValidatorException(atLeast + result.getFailures().size() + " lines could not be validated, first at line "
+                    + result.getFailures().get(0).getLineNumber());
+        }
+    }
+
+    private static void runAvroFile(ValidatorOptions options) {
+
+        try (InputStream input = new MappedFileInputStream(options.getInputPath());
+             OutputStream output = openOutput(options.getOutputPath())) {
+            Validators.avroFile()
+                    .withInput(input)
+                    .withSchema(readFile(options.getSchemaPath()))
+                    .withOutput(output)
+                    .build()
+                    .validate();
+        } catch (IOException e) {
+            throw new ValidatorException("Unexpected error occurred during I/O operation", e);
+        }
+    }
+
     public static void main(String[] args) {
 
         try {
@@ -52,6 +105,12 @@ public class ValidatorRunner {
         return Files.readAllBytes(path);
     }
 
+    private static OutputStream openOutput(Path outputPath) throws IOException {
+        return outputPath != null
+                ? new BufferedOutputStream(Files.newOutputStream(outputPath))
+                : OutputStream.nullOutputStream();
+    }
+
     private static ValidationOutput getOutput(Path outputPath) {
         return outputPath != null ? new FileValidationOutput(outputPath) : ValidationOutput.NO_OUTPUT;
     }
@@ -0,0 +1,46 @@
+package tech.allegro.schema.json2avro.validator.schema;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Objects;
+
+public class ValidationFailure {
+
+    private final long lineNumber;
+
+    private final String message;
+
+    public ValidationFailure(long lineNumber, String message) {
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lineNumber, message);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ValidationFailure that = (ValidationFailure) o;
+        return lineNumber == that.lineNumber && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("lineNumber", lineNumber)
+                .add("message", message)
+                .toString();
+    }
+}
@@ -6,7 +6,9 @@ public enum ValidationMode {
 
     JSON_TO_AVRO,
     AVRO_TO_JSON,
-    JSON_TO_AVRO_TO_JSON;
+    JSON_TO_AVRO_TO_JSON,
+    NDJSON_TO_AVRO,
+    AVRO_TO_NDJSON;
 
     public static ValidationMode from(String name) {
         return Arrays.stream(values())
@@ -2,6 +2,8 @@ package tech.allegro.schema.json2avro.validator.schema;
 
 import com.google.common.base.MoreObjects;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -9,17 +11,32 @@ public class ValidationResult {
 
     private Optional<String> output;
 
+    private List<ValidationFailure> failures;
+
     public ValidationResult(Optional<String> output) {
+        this(output, Collections.emptyList());
+    }
+
+    public ValidationResult(Optional<String> output, List<ValidationFailure> failures) {
         this.output = output;
+        this.failures = failures;
     }
 
     public Optional<String> getOutput() {
         return output;
     }
 
+    public List<ValidationFailure> getFailures() {
+        return failures;
+    }
+
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(output);
+        return Objects.hash(output, failures);
     }
 
     @Override
@@ -27,13 +44,14 @@ public class ValidationResult {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ValidationResult that = (ValidationResult) o;
-        return Objects.equals(output, that.output);
+        return Objects.equals(output, that.output) && Objects.equals(failures, that.failures);
     }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("output", output)
+                .add("failures", failures)
                 .toString();
     }
 
@@ -44,4 +62,8 @@ public class ValidationResult {
     public static ValidationResult success(String output) {
         return new ValidationResult(Optional.ofNullable(output));
     }
+
+    public static ValidationResult of(String output, List<ValidationFailure> failures) {
+        return new ValidationResult(Optional.ofNullable(output), Collections.unmodifiableList(failures));
+    }
 }
@@ -1,11 +1,21 @@
 package tech.allegro.schema.json2avro.validator.schema;
 
 
+import tech.allegro.schema.json2avro.validator.schema.avro.AvroNdjsonValidator;
 import tech.allegro.schema.json2avro.validator.schema.avro.AvroValidator;
+import tech.allegro.schema.json2avro.validator.schema.avro.NdjsonAvroValidator;
 
 public interface Validators {
 
     static AvroValidator.Builder avro() {
         return AvroValidator.builder();
     }
+
+    static NdjsonAvroValidator.Builder ndjson() {
+        return NdjsonAvroValidator.builder();
+    }
+
+    static AvroNdjsonValidator.Builder avroFile() {
+        return AvroNdjsonValidator.builder();
+    }
 }
@@ -0,0 +1,98 @@
+package tech.allegro.schema.json2avro.validator.schema.avro;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.allegro.schema.json2avro.converter.AvroJsonConverter;
+import tech.allegro.schema.json2avro.validator.schema.ValidationResult;
+import tech.allegro.schema.json2avro.validator.schema.Validator;
+import tech.allegro.schema.json2avro.validator.schema.ValidatorException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Validates the records of an Avro object container file against the schema, writing them as newline delimited json
+ * record by record.
+ */
+public class AvroNdjsonValidator implements Validator {
+
+    private final Logger logger = LoggerFactory.getLogger(AvroNdjsonValidator.class);
+
+    private final Schema schema;
+
+    private final InputStream input;
+
+    private final OutputStream output;
+
+    private final AvroJsonConverter avroJsonConverter;
+
+    public AvroNdjsonValidator(byte[] schema, InputStream input, OutputStream output) {
+        avroJsonConverter = new AvroJsonConverter();
+        try {
+            this.schema = new Schema.Parser().parse(new ByteArrayInputStream(schema));
+            this.input = input;
+            this.output = output;
+        } catch (IOException e) {
+            throw new ValidatorException("An unexpected error occurred when parsing the schema", e);
+        }
+    }
+
+    @Override
+    public ValidationResult validate() {
+        logger.debug("Converting AVRO file to newline delimited JSON");
+        long records = 0;
+        try (DataFileStream<GenericRecord> avroFile = new DataFileStream<>(input, new GenericDatumReader<>(schema))) {
+            GenericRecord record = null;
+            while (avroFile.hasNext()) {
+                record = avroFile.next(record);
+                output.write(avroJsonConverter.convertToJson(record));
+                output.write('\n');
+                records++;
+            }
+            output.flush();
+        } catch (IOException | AvroRuntimeException e) {
+            throw new ValidatorException("Error occurred when validating record " + records + " of the file", e);
+        }
+        logger.info("Validation result: {} records converted", records);
+        return ValidationResult.success();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private byte[] schema;
+
+        private InputStream input;
+
+        private OutputStream output = OutputStream.nullOutputStream();
+
+        public Builder withSchema(byte[] schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public Builder withInput(InputStream input) {
+            this.input = input;
+            return this;
+        }
+
+        public Builder withOutput(OutputStream output) {
+            this.output = output;
+            return this;
+        }
+
+        public AvroNdjsonValidator build() {
+            return new AvroNdjsonValidator(schema, input, output);
+        }
+    }
+}
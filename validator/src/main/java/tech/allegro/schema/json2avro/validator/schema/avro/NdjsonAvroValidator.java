@@ -0,0 +1,241 @@
+package tech.allegro.schema.json2avro.validator.schema.avro;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.allegro.schema.json2avro.converter.AvroConversionException;
+import tech.allegro.schema.json2avro.converter.JsonAvroConverter;
+import tech.allegro.schema.json2avro.converter.JsonLines;
+import tech.allegro.schema.json2avro.validator.schema.ValidationFailure;
+import tech.allegro.schema.json2avro.validator.schema.ValidationResult;
+import tech.allegro.schema.json2avro.validator.schema.Validator;
+import tech.allegro.schema.json2avro.validator.schema.ValidatorException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Validates newline delimited json against the schema, converting chunks of lines in parallel and writing the valid
+ * documents to an Avro object container file in the order of the input. Invalid lines are logged and reported as
+ * failures of the result instead of aborting the validation. Only the first {@code maxFailures} failures are kept in
+ * the result, the following ones are only logged and counted.
+ */
+public class NdjsonAvroValidator implements Validator {
+
+    public static final int DEFAULT_MAX_FAILURES = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(NdjsonAvroValidator.class);
+
+    private final Schema schema;
+
+    private final InputStream input;
+
+    private final OutputStream output;
+
+    private final int threads;
+
+    private final int chunkSize;
+
+    private final int maxFailures;
+
+    private final JsonAvroConverter jsonAvroConverter;
+
+    public NdjsonAvroValidator(byte[] schema, InputStream input, OutputStream output, int threads, int chunkSize) {
+        this(schema, input, output, threads, chunkSize, DEFAULT_MAX_FAILURES);
+    }
+
+    public NdjsonAvroValidator(byte[] schema, InputStream input, OutputStream output, int threads, int chunkSize,
+                               int maxFailures) {
+        if (threads < 1) {
+            throw new ValidatorException("Number of threads must be positive, was: " + threads);
+        }
+        if (chunkSize < 1) {
+            throw new ValidatorException("Chunk size must be positive, was: " + chunkSize);
+        }
+        if (maxFailures < 1) {
+            throw new ValidatorException("Maximum number of failures must be positive, was: " + maxFailures);
+        }
+        jsonAvroConverter = new JsonAvroConverter();
+        try {
+            this.schema = new Schema.Parser().parse(new ByteArrayInputStream(schema));
+            this.input = input;
+            this.output = output;
+            this.threads = threads;
+            this.chunkSize = chunkSize;
+            this.maxFailures = maxFailures;
+        } catch (IOException e) {
+            throw new ValidatorException("An unexpected error occurred when parsing the schema", e);
+        }
+    }
+
+    @Override
+    public ValidationResult validate() {
+        logger.debug("Converting newline delimited JSON to AVRO using {} threads", threads);
+        Failures failures = new Failures();
+        long records = 0;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (DataFileWriter<Object> writer = new DataFileWriter<>(new GenericDatumWriter<>(schema))) {
+            writer.create(schema, output);
+            JsonLines lines = new JsonLines(input);
+            // chunks are written in the order they were read, at most two chunks per thread are held in memory
+            Deque<ForkJoinTask<EncodedChunk>> pending = new ArrayDeque<>();
+            NdjsonChunk chunk;
+            while ((chunk = nextChunk(lines)) != null) {
+                NdjsonChunk read = chunk;
+                pending.add(pool.submit(() -> encode(read)));
+                if (pending.size() >= 2 * threads) {
+                    records += pending.poll().join().writeTo(writer, failures);
+                }
+            }
+            while (!pending.isEmpty()) {
+                records += pending.poll().join().writeTo(writer, failures);
+            }
+        } catch (IOException | AvroConversionException e) {
+            throw new ValidatorException("Error occurred when reading the input or writing the output", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        logger.info("Validation result: {} documents converted, {} failed", records, failures.count);
+        if (failures.count > failures.reported.size()) {
+            logger.info("Only the first {} failures are reported", failures.reported.size());
+        }
+        return ValidationResult.of(null, failures.reported);
+    }
+
+    private NdjsonChunk nextChunk(JsonLines lines) {
+        NdjsonChunk chunk = new NdjsonChunk(chunkSize);
+        while (chunk.size() < chunkSize && lines.hasNext()) {
+            chunk.add(lines.next(), lines.getLineNumber());
+        }
+        return chunk.size() > 0 ? chunk : null;
+    }
+
+    private EncodedChunk encode(NdjsonChunk chunk) {
+        EncodedChunk encoded = new EncodedChunk(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                jsonAvroConverter.convertToAvro(chunk.line(i), schema, encoded.avro);
+                encoded.ends[encoded.records++] = encoded.avro.size();
+            } catch (RuntimeException e) {
+                encoded.failures.add(new ValidationFailure(chunk.lineNumber(i), describe(e)));
+            }
+        }
+        return encoded;
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e.getCause();
+        if (cause == null || cause.getMessage() == null || e.getMessage().contains(cause.getMessage())) {
+            return e.getMessage();
+        }
+        return e.getMessage() + " " + cause.getMessage();
+    }
+
+    private class EncodedChunk {
+
+        private final ByteArrayOutputStream avro = new ByteArrayOutputStream();
+
+        private final int[] ends;
+
+        private final List<ValidationFailure> failures = new ArrayList<>();
+
+        private int records;
+
+        EncodedChunk(int lines) {
+            this.ends = new int[lines];
+        }
+
+        int writeTo(DataFileWriter<Object> writer, Failures allFailures) throws IOException {
+            for (ValidationFailure failure : failures) {
+                logger.warn("Line {} could not be validated: {}", failure.getLineNumber(), failure.getMessage());
+                allFailures.add(failure);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(avro.toByteArray());
+            int start = 0;
+            for (int i = 0; i < records; i++) {
+                writer.appendEncoded(buffer.limit(ends[i]).position(start));
+                start = ends[i];
+            }
+            return records;
+        }
+    }
+
+    private class Failures {
+
+        private final List<ValidationFailure> reported = new ArrayList<>();
+
+        private long count;
+
+        void add(ValidationFailure failure) {
+            count++;
+            if (reported.size() < maxFailures) {
+                reported.add(failure);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private byte[] schema;
+
+        private InputStream input;
+
+        private OutputStream output = OutputStream.nullOutputStream();
+
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        private int chunkSize = 1000;
+
+        private int maxFailures = DEFAULT_MAX_FAILURES;
+
+        public Builder withSchema(byte[] schema) {
+            this.schema = schema;
+            return this;
+        }
+
+        public Builder withInput(InputStream input) {
+            this.input = input;
+            return this;
+        }
+
+        public Builder withOutput(OutputStream output) {
+            this.output = output;
+            return this;
+        }
+
+        public Builder withThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder withChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public Builder withMaxFailures(int maxFailures) {
+            this.maxFailures = maxFailures;
+            return this;
+        }
+
+        public NdjsonAvroValidator build() {
+            return new NdjsonAvroValidator(schema, input, output, threads, chunkSize, maxFailures);
+        }
+    }
+}
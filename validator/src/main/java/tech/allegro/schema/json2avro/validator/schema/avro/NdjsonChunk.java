@@ -0,0 +1,36 @@
+package tech.allegro.schema.json2avro.validator.schema.avro;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consecutive non blank lines of newline delimited json together with their line numbers.
+ */
+class NdjsonChunk {
+
+    private final List<byte[]> lines;
+
+    private final long[] lineNumbers;
+
+    NdjsonChunk(int capacity) {
+        this.lines = new ArrayList<>(capacity);
+        this.lineNumbers = new long[capacity];
+    }
+
+    void add(byte[] line, long lineNumber) {
+        lineNumbers[lines.size()] = lineNumber;
+        lines.add(line);
+    }
+
+    int size() {
+        return lines.size();
+    }
+
+    byte[] line(int index) {
+        return lines.get(index);
+    }
+
+    long lineNumber(int index) {
+        return lineNumbers[index];
+    }
+}
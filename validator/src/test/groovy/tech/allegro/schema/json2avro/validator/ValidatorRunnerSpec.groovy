@@ -1,9 +1,14 @@
 package tech.allegro.schema.json2avro.validator
 
+import org.apache.avro.file.DataFileStream
+import org.apache.avro.generic.GenericDatumReader
+import org.apache.avro.generic.GenericRecord
 import spock.lang.Specification
 import spock.lang.Subject
 import tech.allegro.schema.json2avro.validator.schema.ValidatorException
 
+import java.nio.file.Files
+
 import static tech.allegro.schema.json2avro.validator.test.ResourceUtils.resource
 
 class ValidatorRunnerSpec extends Specification {
@@ -52,4 +57,61 @@ class ValidatorRunnerSpec extends Specification {
         then:
         noExceptionThrown()
     }
+
+    def "should convert newline delimited JSON and report invalid lines"() {
+
+        setup:
+        def tempDirectory = Files.createTempDirectory(getClass().simpleName)
+        def outputPath = tempDirectory.resolve("users.avro")
+
+        and:
+        ValidatorOptions options = new ValidatorOptions(schemaPath: resource('user.avcs'), inputPath: resource('users.ndjson'),
+                outputPath: outputPath, mode: 'ndjson2avro', threads: 2, chunkSize: 1)
+
+        when:
+        runner.run(options)
+
+        then:
+        thrown(ValidatorException.class)
+
+        and:
+        Files.newInputStream(outputPath).withCloseable {
+            new DataFileStream<GenericRecord>(it, new GenericDatumReader<GenericRecord>()).size()
+        } == 2
+
+        cleanup:
+        Files.delete(outputPath)
+        Files.delete(tempDirectory)
+    }
+
+    def "should convert AVRO file to newline delimited JSON"() {
+
+        setup:
+        def tempDirectory = Files.createTempDirectory(getClass().simpleName)
+        def avroPath = tempDirectory.resolve("users.avro")
+        def jsonPath = tempDirectory.resolve("users.ndjson")
+
+        and:
+        runIgnoringFailures(new ValidatorOptions(schemaPath: resource('user.avcs'), inputPath: resource('users.ndjson'),
+                outputPath: avroPath, mode: 'ndjson2avro'))
+
+        when:
+        runner.run(new ValidatorOptions(schemaPath: resource('user.avcs'), inputPath: avroPath, outputPath: jsonPath,
+                mode: 'avro2ndjson'))
+
+        then:
+        Files.readAllLines(jsonPath).size() == 2
+
+        cleanup:
+        Files.delete(jsonPath)
+        Files.delete(avroPath)
+        Files.delete(tempDirectory)
+    }
+
+    private void runIgnoringFailures(ValidatorOptions options) {
+        try {
+            runner.run(options)
+        } catch (ValidatorException ignored) {
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package tech.allegro.schema.json2avro.validator.schema.avro
+
+import groovy.json.JsonSlurper
+import org.apache.avro.Schema
+import org.apache.avro.file.DataFileWriter
+import org.apache.avro.generic.GenericData
+import org.apache.avro.generic.GenericDatumWriter
+import org.apache.avro.generic.GenericRecord
+import spock.lang.Specification
+import tech.allegro.schema.json2avro.validator.schema.ValidatorException
+import tech.allegro.schema.json2avro.validator.schema.Validators
+
+import static tech.allegro.schema.json2avro.validator.test.ResourceUtils.readResource
+
+class AvroNdjsonValidatorSpec extends Specification {
+
+    byte[] avroSchema = readResource("user.avcs")
+
+    Schema schema = new Schema.Parser().parse(new ByteArrayInputStream(avroSchema))
+
+    def "should convert AVRO file to newline delimited JSON"() {
+
+        given:
+        def output = new ByteArrayOutputStream()
+
+        and:
+        def validator = Validators.avroFile()
+                .withInput(new ByteArrayInputStream(avroFile(["Bob", "Alice", "Carol"])))
+                .withSchema(avroSchema)
+                .withOutput(output)
+                .build()
+
+        when:
+        validator.validate()
+
+        then:
+        def lines = new String(output.toByteArray()).readLines()
+        lines.collect { new JsonSlurper().parseText(it).name } == ["Bob", "Alice", "Carol"]
+    }
+
+    def "should report input which is not an AVRO file"() {
+
+        given:
+        def validator = Validators.avroFile()
+                .withInput(new ByteArrayInputStream(readResource("user.avro")))
+                .withSchema(avroSchema)
+                .build()
+
+        when:
+        validator.validate()
+
+        then:
+        thrown(ValidatorException)
+    }
+
+    private byte[] avroFile(List<String> names) {
+        def output = new ByteArrayOutputStream()
+        new DataFileWriter<GenericRecord>(new GenericDatumWriter<GenericRecord>(schema)).withCloseable { writer ->
+            writer.create(schema, output)
+            names.each { name ->
+                GenericRecord user = new GenericData.Record(schema)
+                user.put("name", name)
+                user.put("age", 50)
+                user.put("favoriteColor", "blue")
+                writer.append(user)
+            }
+        }
+        output.toByteArray()
+    }
+}
@@ -0,0 +1,110 @@
+package tech.allegro.schema.json2avro.validator.schema.avro
+
+import org.apache.avro.file.DataFileStream
+import org.apache.avro.generic.GenericDatumReader
+import org.apache.avro.generic.GenericRecord
+import spock.lang.Specification
+import tech.allegro.schema.json2avro.validator.schema.ValidationResult
+import tech.allegro.schema.json2avro.validator.schema.ValidatorException
+import tech.allegro.schema.json2avro.validator.schema.Validators
+
+import static tech.allegro.schema.json2avro.validator.test.ResourceUtils.readResource
+
+class NdjsonAvroValidatorSpec extends Specification {
+
+    byte[] avroSchema = readResource("user.avcs")
+
+    def "should convert newline delimited JSON to AVRO file in the order of the input"() {
+
+        given:
+        def lines = (1..2500).collect { """{"name": "user $it", "age": $it, "favoriteColor": "blue"}""" }
+        def output = new ByteArrayOutputStream()
+
+        and:
+        def validator = Validators.ndjson()
+                .withInput(new ByteArrayInputStream(lines.join("\n").bytes))
+                .withSchema(avroSchema)
+                .withOutput(output)
+                .withThreads(threads)
+                .withChunkSize(chunkSize)
+                .build()
+
+        when:
+        ValidationResult result = validator.validate()
+
+        then:
+        result.success
+        readAvroFile(output.toByteArray()).collect { it.get("age") } == (1..2500).toList()
+
+        where:
+        threads | chunkSize
+        1       | 1
+        4       | 7
+        8       | 1000
+    }
+
+    def "should report failed lines and write the valid ones"() {
+
+        given:
+        def output = new ByteArrayOutputStream()
+
+        and:
+        def validator = Validators.ndjson()
+                .withInput(new ByteArrayInputStream(readResource("users.ndjson")))
+                .withSchema(avroSchema)
+                .withOutput(output)
+                .withThreads(2)
+                .withChunkSize(1)
+                .build()
+
+        when:
+        ValidationResult result = validator.validate()
+
+        then:
+        !result.success
+        result.failures*.lineNumber == [3]
+        result.failures[0].message == "Failed to convert JSON to Avro: Field age is expected to be type: java.lang.Number"
+
+        and:
+        readAvroFile(output.toByteArray()).collect { it.get("name").toString() } == ["Bob", "Carol"]
+    }
+
+    def "should report only the first failures up to the maximum"() {
+
+        given:
+        def lines = (1..10).collect { """{"name": "user $it", "age": "$it"}""" }
+
+        and:
+        def validator = Validators.ndjson()
+                .withInput(new ByteArrayInputStream(lines.join("\n").bytes))
+                .withSchema(avroSchema)
+                .withThreads(2)
+                .withChunkSize(3)
+                .withMaxFailures(4)
+                .build()
+
+        when:
+        ValidationResult result = validator.validate()
+
+        then:
+        !result.success
+        result.failures*.lineNumber == [1, 2, 3, 4]
+    }
+
+    def "should reject non positive number of threads"() {
+
+        when:
+        Validators.ndjson()
+                .withInput(new ByteArrayInputStream(new byte[0]))
+                .withSchema(avroSchema)
+                .withThreads(0)
+                .build()
+
+        then:
+        thrown(ValidatorException)
+    }
+
+    private static List<GenericRecord> readAvroFile(byte[] avroFile) {
+        new DataFileStream<GenericRecord>(new ByteArrayInputStream(avroFile), new GenericDatumReader<GenericRecord>()).collect()
+    }
+}